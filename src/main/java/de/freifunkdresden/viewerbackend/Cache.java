@@ -37,9 +37,16 @@ public class Cache {
     private Path cachePath;
 
     public void initialize() {
+        String pathString = DataGen.getConfig().getValue("cache_path");
+        if (pathString == null) {
+            throw new CacheInitializationException("cache_path is not configured");
+        }
+        initialize(Paths.get(pathString));
+    }
+
+    public void initialize(Path path) {
+        cachePath = path;
         try {
-            String pathString = DataGen.getConfig().getValue("cache_path");
-            cachePath = Paths.get(pathString);
             if (Files.notExists(cachePath)) {
                 Files.createDirectory(cachePath);
             }
@@ -43,7 +43,12 @@ public class Config {
     private final CommunityDirectory communityDirectory = new CommunityDirectory();
 
     public void loadConfig() {
-        Path path = Paths.get("config.ini");
+        loadValues(Paths.get("config.ini"));
+        vpnServerDirectory.loadConfig();
+        communityDirectory.loadConfig();
+    }
+
+    public void loadValues(Path path) {
         if (!Files.exists(path) || !Files.isReadable(path)) {
             throw new ConfigurationException("Config files don't exist");
         }
@@ -55,14 +60,34 @@ public class Config {
         } catch (RuntimeException | IOException ex) {
             throw new ConfigurationException("Config file couldn't be loaded", ex);
         }
-        vpnServerDirectory.loadConfig();
-        communityDirectory.loadConfig();
     }
 
     public String getValue(String key) {
         return configValues.get(key);
     }
 
+    public String getValue(String key, String defaultValue) {
+        String value = configValues.get(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public int getIntValue(String key, int defaultValue) {
+        String value = getValue(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new ConfigurationException(String.format("Config value `%s` is not a number", key), ex);
+        }
+    }
+
+    public boolean getBooleanValue(String key, boolean defaultValue) {
+        String value = getValue(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
     public VpnServerDirectory getVpnServerDirectory() {
         return vpnServerDirectory;
     }
@@ -24,16 +24,26 @@
 
 package de.freifunkdresden.viewerbackend;
 
+import de.freifunkdresden.viewerbackend.archive.EntryType;
+import de.freifunkdresden.viewerbackend.archive.RunArchive;
+import de.freifunkdresden.viewerbackend.archive.RunArchiveReader;
+import de.freifunkdresden.viewerbackend.catalog.FirmwareCatalog;
+import de.freifunkdresden.viewerbackend.catalog.HardwareCatalog;
+import de.freifunkdresden.viewerbackend.collector.NodeCollector;
+import de.freifunkdresden.viewerbackend.collector.Sharding;
 import de.freifunkdresden.viewerbackend.dataparser.DataParserDB;
+import de.freifunkdresden.viewerbackend.dataparser.DedupPool;
 import de.freifunkdresden.viewerbackend.datasource.FreifunkApi;
+import de.freifunkdresden.viewerbackend.exception.ArchiveException;
 import de.freifunkdresden.viewerbackend.exception.JsonGenerationException;
 import de.freifunkdresden.viewerbackend.exception.NodeCollectionException;
 import de.freifunkdresden.viewerbackend.exception.OfflineNodeProcessingException;
+import de.freifunkdresden.viewerbackend.exception.TopologyCollectionException;
 import de.freifunkdresden.viewerbackend.filter.WordFilter;
+import de.freifunkdresden.viewerbackend.ingest.IngestServer;
 import de.freifunkdresden.viewerbackend.json.JsonFileGen;
 import de.freifunkdresden.viewerbackend.stats.GeneralStatType;
 import de.freifunkdresden.viewerbackend.stats.StatsSQL;
-import de.freifunkdresden.viewerbackend.thread.NodeSysInfoThread;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -51,20 +61,32 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class DataGen {
 
     private static final Logger LOGGER = LogManager.getLogger(DataGen.class);
+    private static final String ARCHIVE_DIRECTORY_NAME = "archive";
     private static final DataHolder HOLDER = new DataHolder();
     private static final ExecutorService POOL = Executors.newFixedThreadPool(10);
     private static final Config CONFIG = new Config();
     private static final Cache CACHE = new Cache();
     private static final WordFilter WORD_FILTER = new WordFilter();
+    private static final DedupPool DEDUP_POOL = new DedupPool();
+    private static final FirmwareCatalog FIRMWARE_CATALOG = new FirmwareCatalog();
+    private static final HardwareCatalog HARDWARE_CATALOG = new HardwareCatalog();
     private static boolean debug = false;
     private static boolean readOnly = false;
+    private static boolean ingest = false;
+    private static int shardIndex = -1;
     private static MySQL mysqlDb;
     private static Influx influxDb;
+    private static NodeCollector nodeCollector;
+    private static String replayRun;
+    private static RunArchive archive;
+    private static RunArchiveReader replay;
+    private static Sharding sharding;
 
     public static MySQL getDB() {
         return mysqlDb;
@@ -86,6 +108,18 @@ public class DataGen {
         return CACHE;
     }
 
+    public static DedupPool getDedupPool() {
+        return DEDUP_POOL;
+    }
+
+    public static FirmwareCatalog getFirmwareCatalog() {
+        return FIRMWARE_CATALOG;
+    }
+
+    public static HardwareCatalog getHardwareCatalog() {
+        return HARDWARE_CATALOG;
+    }
+
     public static WordFilter getWordFilter() {
         return WORD_FILTER;
     }
@@ -108,11 +142,45 @@ public class DataGen {
                 readOnly = true;
                 LOGGER.log(Level.INFO, "=== Running in read-only mode ===");
             }
+            if (Arrays.stream(args).anyMatch(s -> s.equalsIgnoreCase("--ingest"))) {
+                ingest = true;
+                LOGGER.log(Level.INFO, "=== Running as ingest server ===");
+            }
+            int shardArg = Arrays.asList(args).indexOf("--shard");
+            if (shardArg >= 0) {
+                try {
+                    shardIndex = Integer.parseInt(args[shardArg + 1]);
+                } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                    LOGGER.log(Level.ERROR, "--shard needs the index of the shard");
+                    return;
+                }
+            }
+            int replayIndex = Arrays.asList(args).indexOf("--replay");
+            if (replayIndex >= 0) {
+                if (replayIndex + 1 >= args.length) {
+                    LOGGER.log(Level.ERROR, "--replay needs the name of an archived run");
+                    return;
+                }
+                replayRun = args[replayIndex + 1];
+                readOnly = true;
+                LOGGER.log(Level.INFO, "=== Replaying run {} in read-only mode ===", replayRun);
+            }
         }
         try {
             CONFIG.loadConfig();
+            HARDWARE_CATALOG.loadConfig(CONFIG);
             CACHE.initialize();
+            if (ingest) {
+                startIngest();
+                return;
+            }
+            sharding = new Sharding(CONFIG, CACHE, shardIndex >= 0 ? shardIndex : CONFIG.getIntValue("shard_index", 0));
+            if (!sharding.isCoordinator()) {
+                collectShard();
+                return;
+            }
             WORD_FILTER.setup();
+            openArchive();
             setupDatabase();
             processFreifunkApi();
             collectLocalData();
@@ -128,37 +196,145 @@ public class DataGen {
             LOGGER.log(Level.INFO, "Done!");
         } catch (RuntimeException ex) {
             LOGGER.log(Level.ERROR, "Execution Exception: ", ex);
+        } finally {
+            closeArchive();
         }
         if (isDebug()) {
             LOGGER.log(Level.DEBUG, "{} nodes, {} nodes online",
                     getDataHolder().getNodes().size(),
-                    getDataHolder().getNodes().values().stream().filter(Node::isOnline).count());
+                    getDataHolder().getNodes().stream().filter(Node::isOnline).count());
         }
     }
 
+    private static void startIngest() {
+        try {
+            new IngestServer(CONFIG, CACHE).start();
+        } catch (IOException ex) {
+            LOGGER.log(Level.ERROR, "Ingest server couldn't be started", ex);
+        }
+    }
+
+    private static void openArchive() {
+        Path dir = CACHE.resolveCacheFile(ARCHIVE_DIRECTORY_NAME);
+        if (replayRun != null) {
+            Path path = Files.exists(Paths.get(replayRun)) ? Paths.get(replayRun) : RunArchive.getPath(dir, replayRun);
+            replay = RunArchiveReader.read(path);
+        } else if (CONFIG.getBooleanValue("archive", false)) {
+            try {
+                archive = RunArchive.create(dir);
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARN, "Run archive couldn't be created", ex);
+            }
+        }
+    }
+
+    private static void closeArchive() {
+        if (archive == null) {
+            return;
+        }
+        try {
+            archive.close();
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARN, "Run archive couldn't be closed", ex);
+        }
+        RunArchive.cleanup(CACHE.resolveCacheFile(ARCHIVE_DIRECTORY_NAME), Math.max(1, CONFIG.getIntValue("archive_keep", 48)));
+    }
+
+    @NotNull
+    private static String getArchived(@NotNull EntryType type, @NotNull Supplier<String> source) {
+        String data;
+        if (replay != null) {
+            data = replay.getString(type);
+            if (data == null) {
+                throw new ArchiveException(String.format("%s has no %s entry", replay.getPath(), type.name().toLowerCase()));
+            }
+        } else {
+            data = source.get();
+        }
+        if (archive != null) {
+            archive.add(type, 0, data);
+        }
+        return data;
+    }
+
     private static void processFreifunkApi() {
         LOGGER.log(Level.INFO, "Processing API...");
-        FreifunkApi.downloadApiFile();
-        FreifunkApi.processApi();
+        FreifunkApi.processApi(getArchived(EntryType.API, () -> {
+            FreifunkApi.downloadApiFile();
+            return FreifunkApi.readApiFile();
+        }));
     }
 
     private static void collectLocalData() {
         LOGGER.log(Level.INFO, "Collect local data...");
-        LocalDataCollector.collectRoutes();
-        LocalDataCollector.collectGateways();
+        LocalDataCollector.collectRoutes(getArchived(EntryType.ROUTES, LocalDataCollector::readRoutes));
+        LocalDataCollector.collectGateways(getArchived(EntryType.GATEWAYS, LocalDataCollector::readGateways));
+        if (CONFIG.getBooleanValue("local_topology", false)) {
+            try {
+                LocalDataCollector.collectLinks(getArchived(EntryType.LINKS, LocalDataCollector::readLinks));
+            } catch (TopologyCollectionException | ArchiveException ex) {
+                LOGGER.log(Level.WARN, "Local topology couldn't be collected", ex);
+            }
+        }
     }
 
     private static void collectNodeInfo() {
+        List<Node> reachable = HOLDER.getNodes().stream()
+                .filter(n -> getDataHolder().isReachable(n))
+                .toList();
+        nodeCollector = new NodeCollector(CONFIG, CACHE);
+        if (replay != null) {
+            nodeCollector.replay(reachable, replay);
+        } else {
+            nodeCollector.setArchive(archive);
+            long start = System.currentTimeMillis();
+            nodeCollector.collect(sharding.filter(reachable));
+            if (sharding.isSharded()) {
+                mergeShards(reachable, start);
+                sharding.saveBounds(reachable);
+            }
+        }
+    }
+
+    private static void collectShard() {
+        LOGGER.log(Level.INFO, "Collecting shard {}", sharding.getIndex());
+        processFreifunkApi();
+        collectLocalData();
+        List<Node> nodes = sharding.filter(HOLDER.getNodes().stream()
+                .filter(n -> getDataHolder().isReachable(n))
+                .toList());
+        Cache stateCache = new Cache();
+        stateCache.initialize(CACHE.resolveCacheFile(String.format("shard-%d", sharding.getIndex())));
+        nodeCollector = new NodeCollector(CONFIG, CACHE, stateCache);
+        RunArchive snapshot;
+        try {
+            snapshot = sharding.createSnapshot();
+        } catch (IOException ex) {
+            throw new NodeCollectionException(ex);
+        }
+        boolean published = false;
+        try {
+            nodeCollector.setArchive(snapshot);
+            nodeCollector.collect(nodes);
+            sharding.publishSnapshot(snapshot, nodes);
+            published = true;
+            LOGGER.log(Level.INFO, "Shard {} done, {} of {} nodes online", sharding.getIndex(),
+                    nodes.stream().filter(Node::isOnline).count(), nodes.size());
+        } catch (IOException ex) {
+            throw new NodeCollectionException(ex);
+        } finally {
+            if (!published) {
+                snapshot.discard();
+            }
+        }
+    }
+
+    private static void mergeShards(@NotNull List<Node> nodes, long runStart) {
+        LOGGER.log(Level.INFO, "Waiting for shard snapshots...");
         try {
-            ExecutorService pool = Executors.newFixedThreadPool(10);
-            HOLDER.getNodes().values().stream().filter(n -> getDataHolder().isReachable(n))
-                    .forEach(n -> pool.submit(new NodeSysInfoThread(n)));
-            pool.shutdown();
-            LOGGER.log(Level.INFO, "Waiting threads to finish...");
-            if (!pool.awaitTermination(2, TimeUnit.MINUTES)) {
-                LOGGER.log(Level.ERROR, "Node Collector hit execution limit!");
-                List<Runnable> notExecuted = pool.shutdownNow();
-                LOGGER.log(Level.ERROR, "{} tasks not processed", notExecuted.size());
+            for (RunArchiveReader snapshot : sharding.awaitSnapshots(runStart)) {
+                int merged = nodeCollector.merge(nodes, snapshot);
+                LOGGER.log(Level.INFO, "Merged {} nodes from {}", merged, snapshot.getPath());
             }
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
@@ -168,10 +344,12 @@ public class DataGen {
 
     private static void collectLinks() {
         LOGGER.log(Level.INFO, "Collect links...");
-        HOLDER.getNodes().values().forEach(node -> node.getLinks().forEach(link -> {
+        HOLDER.getNodes().forEach(node -> node.getLinks().forEach(link -> {
             Link lnk = HOLDER.getLink(link.getSource(), link.getTarget(), link.getType());
             if (lnk == null) {
                 HOLDER.addLink(link);
+            } else if (lnk.getSource().equals(link.getSource())) {
+                lnk.setSourceTq(link.getSourceTq());
             } else {
                 lnk.setTargetTq(link.getSourceTq());
             }
@@ -180,7 +358,7 @@ public class DataGen {
 
     private static void fillOfflineNodes() {
         LOGGER.log(Level.INFO, "Fill offline nodes from database...");
-        String ids = HOLDER.getNodes().values().stream()
+        String ids = HOLDER.getNodes().stream()
                 .map(n -> String.valueOf(n.getId()))
                 .collect(Collectors.joining(","));
         if (ids.isEmpty()) {
@@ -215,9 +393,10 @@ public class DataGen {
 
     private static void startDbSave() {
         LOGGER.log(Level.INFO, "Start Save to database");
-        HOLDER.getNodes().values().stream()
+        HOLDER.getNodes().stream()
                 .filter(Node::isOnline)
                 .filter(Node::isDisplayed)
+                .filter(node -> !node.isSysInfoCarriedForward())
                 .forEach(node -> POOL.submit(node::updateDatabase));
         POOL.shutdown();
     }
@@ -237,11 +416,17 @@ public class DataGen {
 
     private static void saveStats() {
         LOGGER.log(Level.INFO, "Save stats to database...");
-        HOLDER.getNodes().values().stream().filter(Node::isDisplayed)
+        HOLDER.getNodes().stream().filter(Node::isDisplayed)
                 .forEach(Node::collectStats);
-        StatsSQL.addGeneralStats(GeneralStatType.NODES, HOLDER.getNodes().values().stream().filter(Node::isDisplayed).count());
-        StatsSQL.addGeneralStats(GeneralStatType.NODES_ONLINE, HOLDER.getNodes().values().stream().filter(Node::isOnline).count());
-        StatsSQL.addGeneralStats(GeneralStatType.CLIENTS, HOLDER.getNodes().values().stream()
+        StatsSQL.addGeneralStats(GeneralStatType.NODES, HOLDER.getNodes().stream().filter(Node::isDisplayed).count());
+        StatsSQL.addGeneralStats(GeneralStatType.NODES_ONLINE, HOLDER.getNodes().stream().filter(Node::isOnline).count());
+        StatsSQL.addGeneralStats(GeneralStatType.NODES_SKIPPED, nodeCollector.getSkipped());
+        StatsSQL.addGeneralStats(GeneralStatType.NODES_PUSHED, nodeCollector.getPushed());
+        StatsSQL.addGeneralStats(GeneralStatType.NODES_MULTICAST, nodeCollector.getAnswered());
+        StatsSQL.addGeneralStats(GeneralStatType.NODES_CARRIED_FORWARD, nodeCollector.getCarried());
+        LOGGER.log(Level.INFO, "Dedup pool: {} entries, {} bytes saved", DEDUP_POOL.size(), DEDUP_POOL.getSavedBytes());
+        StatsSQL.addGeneralStats(GeneralStatType.DEDUP_SAVED_BYTES, DEDUP_POOL.getSavedBytes());
+        StatsSQL.addGeneralStats(GeneralStatType.CLIENTS, HOLDER.getNodes().stream()
                 .filter(Node::isOnline)
                 .reduce(BigInteger.ZERO, (result, node) -> result.add(BigInteger.valueOf(node.getClients())), BigInteger::add)
                 .intValue());
@@ -28,22 +28,50 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.UnknownHostException;
+import java.util.AbstractCollection;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class DataHolder {
 
-    private final Map<Integer, Node> nodes = new LinkedHashMap<>();
+    // ids derived from 10.200.x.y stay below 255 * 256, other ids fall back to the sorted map
+    private static final int CAPACITY = 1 << 16;
+
+    private final AtomicReferenceArray<Node> nodes = new AtomicReferenceArray<>(CAPACITY);
+    private final ConcurrentNavigableMap<Integer, Node> overflow = new ConcurrentSkipListMap<>();
+    // the scan of the array stops at the highest id assigned so far
+    private final AtomicInteger highest = new AtomicInteger(-1);
+    private final AtomicInteger count = new AtomicInteger();
+    private final Collection<Node> view = new NodeView();
     private final Map<LinkKey, Link> links = new HashMap<>();
     private final Set<String> routes = new HashSet<>();
     private final Set<String> gateways = new HashSet<>();
 
     public Node getNode(int id) {
-        return nodes.computeIfAbsent(id, Node::new);
+        if (id < 0 || id >= CAPACITY) {
+            return overflow.computeIfAbsent(id, Node::new);
+        }
+        Node node = nodes.get(id);
+        if (node == null) {
+            Node created = new Node(id);
+            node = nodes.compareAndExchange(id, null, created);
+            if (node == null) {
+                node = created;
+                count.incrementAndGet();
+                highest.accumulateAndGet(id, Math::max);
+            }
+        }
+        return node;
     }
 
     @Nullable
@@ -63,8 +91,10 @@ public class DataHolder {
         links.put(new LinkKey(l.getSource(), l.getTarget(), l.getType()), l);
     }
 
-    public Map<Integer, Node> getNodes() {
-        return new LinkedHashMap<>(nodes);
+    // live view in id order, weakly consistent like the concurrent collections
+    @NotNull
+    public Collection<Node> getNodes() {
+        return view;
     }
 
     public Collection<Link> getLinks() {
@@ -97,6 +127,72 @@ public class DataHolder {
         return false;
     }
 
+    private class NodeView extends AbstractCollection<Node> {
+
+        @Override
+        public int size() {
+            return count.get() + overflow.size();
+        }
+
+        @NotNull
+        @Override
+        public Iterator<Node> iterator() {
+            Iterator<Iterator<Node>> parts = List.of(overflow.headMap(0).values().iterator(), new SlotIterator(),
+                    overflow.tailMap(CAPACITY).values().iterator()).iterator();
+            return new Iterator<>() {
+                private Iterator<Node> current = parts.next();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && parts.hasNext()) {
+                        current = parts.next();
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public Node next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return current.next();
+                }
+            };
+        }
+    }
+
+    private class SlotIterator implements Iterator<Node> {
+
+        private final int last = highest.get();
+        private int id = -1;
+        private Node next = advance();
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Node next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Node node = next;
+            next = advance();
+            return node;
+        }
+
+        private Node advance() {
+            while (++id <= last) {
+                Node node = nodes.get(id);
+                if (node != null) {
+                    return node;
+                }
+            }
+            return null;
+        }
+    }
+
     private static class LinkKey {
         private final Node small;
         private final Node big;
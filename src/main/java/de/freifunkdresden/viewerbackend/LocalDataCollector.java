@@ -26,14 +26,18 @@ package de.freifunkdresden.viewerbackend;
 
 import de.freifunkdresden.viewerbackend.exception.GatewaysCollectionException;
 import de.freifunkdresden.viewerbackend.exception.RouteCollectionException;
+import de.freifunkdresden.viewerbackend.exception.TopologyCollectionException;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -44,13 +48,24 @@ public class LocalDataCollector {
     private LocalDataCollector() {
     }
 
-    public static void collectRoutes() throws RouteCollectionException {
+    public static String readRoutes() throws RouteCollectionException {
         try {
             Process process = new ProcessBuilder("ip", "r", "list", "table", "bat_route").start();
             process.waitFor(200, TimeUnit.MILLISECONDS);
             InputStream inputStream = process.getInputStream();
             String routes = new String(inputStream.readAllBytes());
             inputStream.close();
+            return routes;
+        } catch (RuntimeException | IOException e) {
+            throw new RouteCollectionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RouteCollectionException(e);
+        }
+    }
+
+    public static void collectRoutes(String routes) throws RouteCollectionException {
+        try {
             List<String> routeArray = Arrays.asList(routes.split("\\n"));
             List<String> collect = routeArray.stream().map(s -> s.split("\\s")[0])
                     .filter(s -> s.startsWith("10.200.") && !s.endsWith("/16"))
@@ -61,21 +76,29 @@ public class LocalDataCollector {
                 LOGGER.log(Level.DEBUG, "Collected routes: {}", collect);
             }
             DataGen.getDataHolder().addRoutes(collect);
-        } catch (RuntimeException | IOException e) {
-            throw new RouteCollectionException(e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
             throw new RouteCollectionException(e);
         }
     }
 
-    public static void collectGateways() throws GatewaysCollectionException {
+    public static String readGateways() throws GatewaysCollectionException {
         try {
             Process process = new ProcessBuilder("sudo", "/usr/sbin/bmxd", "-c", "--gateways").start();
             process.waitFor(200, TimeUnit.MILLISECONDS);
             InputStream inputStream = process.getInputStream();
             String gateways = new String(inputStream.readAllBytes());
             inputStream.close();
+            return gateways;
+        } catch (RuntimeException | IOException e) {
+            throw new GatewaysCollectionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GatewaysCollectionException(e);
+        }
+    }
+
+    public static void collectGateways(String gateways) throws GatewaysCollectionException {
+        try {
             List<String> collect = Arrays.stream(gateways.split("\\n"))
                     .skip(1)
                     .map(s -> s.split("\\s+")[1])
@@ -84,11 +107,57 @@ public class LocalDataCollector {
                 LOGGER.log(Level.DEBUG, "Collected gateways: {}", collect);
             }
             DataGen.getDataHolder().addGateways(collect);
-        } catch (RuntimeException | IOException e) {
+        } catch (RuntimeException e) {
             throw new GatewaysCollectionException(e);
+        }
+    }
+
+    public static String readLinks() throws TopologyCollectionException {
+        try {
+            String file = DataGen.getConfig().getValue("local_topology_file");
+            if (file != null && !file.isBlank()) {
+                return Files.readString(Paths.get(file));
+            }
+            Process process = new ProcessBuilder("sudo", "/usr/sbin/bmxd", "-c", "--links").start();
+            process.waitFor(200, TimeUnit.MILLISECONDS);
+            InputStream inputStream = process.getInputStream();
+            String links = new String(inputStream.readAllBytes());
+            inputStream.close();
+            return links;
+        } catch (RuntimeException | IOException e) {
+            throw new TopologyCollectionException(e);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new GatewaysCollectionException(e);
+            throw new TopologyCollectionException(e);
+        }
+    }
+
+    public static void collectLinks(String links) throws TopologyCollectionException {
+        try {
+            // local address, interface, neighbour, RTQ, RQ, TQ
+            List<Link> collect = Arrays.stream(links.split("\\n"))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty() && Character.isDigit(s.charAt(0)))
+                    .map(s -> parseLink(s.split("\\s+")))
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (DataGen.isDebug()) {
+                LOGGER.log(Level.DEBUG, "Collected links: {}", collect.size());
+            }
+            collect.forEach(DataGen.getDataHolder()::addLink);
+        } catch (RuntimeException e) {
+            throw new TopologyCollectionException(e);
+        }
+    }
+
+    private static Link parseLink(String[] l) {
+        Node source = DataGen.getDataHolder().getNodeByIp(l[0]);
+        Node target = DataGen.getDataHolder().getNodeByIp(l[2]);
+        if (source == null || target == null || source.equals(target)) {
+            return null;
         }
+        Link link = new Link(LinkType.getTypeByInterface(l[1]), Byte.parseByte(l[5]), target, source);
+        link.setTargetTq(Byte.parseByte(l[3]));
+        return link;
     }
 }
@@ -26,9 +26,11 @@ package de.freifunkdresden.viewerbackend;
 
 import de.freifunkdresden.viewerbackend.config.CommunityDirectory;
 import de.freifunkdresden.viewerbackend.config.VpnServerDirectory;
+import de.freifunkdresden.viewerbackend.catalog.FirmwareCatalog;
+import de.freifunkdresden.viewerbackend.catalog.HardwareCatalog;
 import de.freifunkdresden.viewerbackend.dataparser.DataParserAPI;
 import de.freifunkdresden.viewerbackend.dataparser.DataParserDB;
-import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfo;
+import de.freifunkdresden.viewerbackend.dataparser.NodeSnapshot;
 import de.freifunkdresden.viewerbackend.dataparser.TrafficInfo;
 import de.freifunkdresden.viewerbackend.dataparser.TrafficInfoEmpty;
 import de.freifunkdresden.viewerbackend.datasource.AirtimeSQL;
@@ -51,7 +53,9 @@ public class Node {
     private InetAddress ip;
     private DataParserAPI dpApi;
     private DataParserDB dpDatabase;
-    private DataParserSysInfo dpSysInfo;
+    private NodeSnapshot sysInfo;
+    private Collection<Link> links;
+    private FirmwareCatalog.Version firmware;
 
     private Airtime airtime2GOld;
     private Airtime airtime5GOld;
@@ -81,8 +85,39 @@ public class Node {
         airtime5GOld = AirtimeSQL.getAirtime5G(this);
     }
 
-    public void setDpSysInfo(DataParserSysInfo dp) {
-        this.dpSysInfo = dp;
+    public void setSysInfo(NodeSnapshot snapshot) {
+        this.sysInfo = snapshot;
+        this.links = null;
+    }
+
+    public void setSysInfoLastSeen(long lastSeen) {
+        if (sysInfo != null) {
+            sysInfo = sysInfo.withLastSeen(lastSeen, false);
+        }
+    }
+
+    public void carrySysInfoForward(long fetched) {
+        if (sysInfo != null) {
+            sysInfo = sysInfo.withLastSeen(fetched, true);
+        }
+    }
+
+    public boolean isSysInfoCarriedForward() {
+        return sysInfo != null && sysInfo.carriedForward();
+    }
+
+    public long getSysInfoLastSeen() {
+        if (sysInfo != null) {
+            return sysInfo.lastSeen();
+        }
+        return 0;
+    }
+
+    public long getSysInfoAge() {
+        if (sysInfo != null) {
+            return sysInfo.getAge();
+        }
+        return 0;
     }
 
     public int getId() {
@@ -115,7 +150,7 @@ public class Node {
     }
 
     public boolean isOnline() {
-        return dpSysInfo != null;
+        return sysInfo != null;
     }
 
     public boolean isGateway() {
@@ -130,8 +165,8 @@ public class Node {
     }
 
     public boolean isAutoUpdateEnabled() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getAutoUpdate();
+        if (sysInfo != null) {
+            return sysInfo.autoUpdate();
         }
         if (dpApi != null && dpDatabase != null) {
             if (dpApi.getLastSeen() > dpDatabase.getLastSeen()) {
@@ -158,98 +193,98 @@ public class Node {
     }
 
     public boolean isFWVersionHigher(int major, int minor, int patch) {
-        String[] fw = getFirmwareVersion().split("\\.");
-        if (fw.length == 3) {
-            if (Integer.parseInt(fw[0]) > major) {
-                return true;
-            }
-            if (Integer.parseInt(fw[0]) == major
-                    && Integer.parseInt(fw[1]) > minor) {
-                return true;
-            }
-            if (Integer.parseInt(fw[0]) == major
-                    && Integer.parseInt(fw[1]) == minor
-                    && Integer.parseInt(fw[2]) >= patch) {
-                return true;
-            }
-        }
-        return false;
+        FirmwareCatalog.Version fw = getFirmware();
+        return fw != null && fw.isAtLeast(major, minor, patch);
     }
 
     public Collection<Link> getLinks() {
-        if (dpSysInfo != null) {
-            dpSysInfo.processLinks();
-            return dpSysInfo.getLinkSet();
+        if (sysInfo == null) {
+            return Collections.emptyList();
+        }
+        if (links == null) {
+            links = sysInfo.links().stream()
+                    .map(l -> new Link(l.type(), l.tq(), DataGen.getDataHolder().getNode(l.target()), this))
+                    .toList();
         }
-        return Collections.emptyList();
+        return links;
     }
 
     public int getFastDCount() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getLinkCountFastD();
+        if (sysInfo != null) {
+            return sysInfo.linkCountFastD();
         }
         return 0;
     }
 
     public int getWireGuardCount() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getLinkCountWireGuard();
+        if (sysInfo != null) {
+            return sysInfo.linkCountWireGuard();
         }
         return 0;
     }
 
     public short getClients() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getClients();
+        if (sysInfo != null) {
+            return sysInfo.clients();
         }
         return 0;
     }
 
     public short getClients2g() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getClients2g().orElse((short) 0);
+        if (sysInfo != null) {
+            return sysInfo.clients2g().orElse((short) 0);
         }
         return 0;
     }
 
     public short getClients5g() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getClients5g().orElse((short) 0);
+        if (sysInfo != null) {
+            return sysInfo.clients5g().orElse((short) 0);
         }
         return 0;
     }
 
     public double getMemoryUsage() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getMemoryUsage();
+        if (sysInfo != null) {
+            return sysInfo.memoryUsage();
         }
         return 0;
     }
 
     public float getLoadAvg() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getLoadAvg();
+        if (sysInfo != null) {
+            return sysInfo.loadAvg();
         }
         return 0;
     }
 
     public float getUptime() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getUptime();
+        if (sysInfo != null) {
+            return sysInfo.uptime();
         }
         return 0;
     }
 
     public int getCpuCount() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getCPUCount();
+        if (sysInfo != null) {
+            return sysInfo.cpuCount();
         }
         return 0;
     }
 
+    public FirmwareCatalog.Version getFirmware() {
+        String raw = getFirmwareVersion();
+        FirmwareCatalog.Version fw = firmware;
+        if (fw == null || !fw.raw().equals(raw)) {
+            fw = DataGen.getFirmwareCatalog().get(raw);
+            firmware = fw;
+        }
+        return fw;
+    }
+
     public String getFirmwareVersion() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getFirmwareVersion();
+        if (sysInfo != null) {
+            return sysInfo.firmwareVersion();
         }
         if (dpApi != null && dpDatabase != null) {
             if (dpApi.getLastSeen() > dpDatabase.getLastSeen()) {
@@ -268,8 +303,8 @@ public class Node {
     }
 
     public String getFirmwareBase() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getFirmwareBase();
+        if (sysInfo != null) {
+            return sysInfo.firmwareBase();
         }
         if (dpDatabase != null) {
             return dpDatabase.getFirmwareBase();
@@ -278,22 +313,22 @@ public class Node {
     }
 
     public String getFirmwareBranch() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getFirmwareBranch();
+        if (sysInfo != null) {
+            return sysInfo.firmwareBranch();
         }
         return null;
     }
 
     public String getFirmwareGitRev() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getFirmwareGitRev();
+        if (sysInfo != null) {
+            return sysInfo.firmwareGitRev();
         }
         return null;
     }
 
     public CommunityDirectory.Community getCommunity() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getCommunity();
+        if (sysInfo != null) {
+            return sysInfo.community();
         }
         if (dpDatabase != null) {
             return dpDatabase.getCommunity();
@@ -302,15 +337,15 @@ public class Node {
     }
 
     public Node getGateway() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getGateway();
+        if (sysInfo != null && sysInfo.gatewayId() >= 0) {
+            return DataGen.getDataHolder().getNode(sysInfo.gatewayId());
         }
         return null;
     }
 
     public NodeType getRole() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getRole();
+        if (sysInfo != null) {
+            return sysInfo.role();
         }
         if (dpDatabase != null) {
             return dpDatabase.getRole();
@@ -319,8 +354,8 @@ public class Node {
     }
 
     public String getName() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getName();
+        if (sysInfo != null) {
+            return sysInfo.name();
         }
         if (dpApi != null && dpDatabase != null) {
             if (dpApi.getLastSeen() > dpDatabase.getLastSeen()) {
@@ -339,8 +374,8 @@ public class Node {
     }
 
     public String getEMail() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getEMail();
+        if (sysInfo != null) {
+            return sysInfo.email();
         }
         if (dpDatabase != null) {
             return dpDatabase.getEMail();
@@ -349,8 +384,8 @@ public class Node {
     }
 
     public String getModel() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getModel();
+        if (sysInfo != null) {
+            return sysInfo.model();
         }
         if (dpApi != null && dpDatabase != null) {
             if (dpApi.getLastSeen() > dpDatabase.getLastSeen()) {
@@ -368,30 +403,19 @@ public class Node {
         return null;
     }
 
+    public HardwareCatalog.Hardware getHardware() {
+        String model = getModel();
+        return model != null ? DataGen.getHardwareCatalog().get(model) : null;
+    }
+
     public String getManufacturer() {
-        String model = this.getModel();
-        if (model.toLowerCase().contains("fujitsu")) {
-            return "FUJITSU SIEMENS";
-        } else if (model.toLowerCase().contains("ubnt")) {
-            return "Ubiquiti";
-        } else if (model.toLowerCase().contains("newifi")) {
-            return "Newifi";
-        } else if (model.toLowerCase().contains("vmware, inc.")) {
-            return "VMware, Inc.";
-        } else if (model.toLowerCase().contains("western digital")) {
-            return "Western Digital";
-        } else if (model.toLowerCase().contains("tp-link")) {
-            return "TP-Link";
-        } else if (model.toLowerCase().contains("netgear")) {
-            return "Netgear";
-        } else {
-            return model.split(" ")[0];
-        }
+        HardwareCatalog.Hardware hardware = getHardware();
+        return hardware != null ? hardware.manufacturer() : null;
     }
 
     public Location getLocation() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getLocation();
+        if (sysInfo != null) {
+            return sysInfo.location();
         }
         if (dpApi != null && dpDatabase != null) {
             if (dpApi.getLastSeen() > dpDatabase.getLastSeen()) {
@@ -412,8 +436,8 @@ public class Node {
     public long getLastSeen() {
         long lastSeenApi = 0;
         long lastSeenDatabase = 0;
-        if (dpSysInfo != null) {
-            return dpSysInfo.getLastSeen();
+        if (sysInfo != null) {
+            return sysInfo.lastSeen();
         }
         if (dpApi != null) {
             lastSeenApi = dpApi.getLastSeen();
@@ -435,21 +459,21 @@ public class Node {
     }
 
     public Optional<Airtime> getAirtime2g() {
-        if (dpSysInfo != null) {
-            if (IGNORE_AIRTIME.contains(dpSysInfo.getFirmwareTarget())) {
+        if (sysInfo != null) {
+            if (IGNORE_AIRTIME.contains(sysInfo.firmwareTarget())) {
                 return Optional.empty();
             }
-            return dpSysInfo.getAirtime2g();
+            return sysInfo.airtime2g();
         }
         return Optional.empty();
     }
 
     public Optional<Airtime> getAirtime5g() {
-        if (dpSysInfo != null) {
-            if (IGNORE_AIRTIME.contains(dpSysInfo.getFirmwareTarget())) {
+        if (sysInfo != null) {
+            if (IGNORE_AIRTIME.contains(sysInfo.firmwareTarget())) {
                 return Optional.empty();
             }
-            return dpSysInfo.getAirtime5g();
+            return sysInfo.airtime5g();
         }
         return Optional.empty();
     }
@@ -463,22 +487,22 @@ public class Node {
     }
 
     public Optional<Integer> getWifiChannel2g() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getWifiChannel2g();
+        if (sysInfo != null) {
+            return sysInfo.wifiChannel2g();
         }
         return Optional.empty();
     }
 
     public Optional<Integer> getWifiChannel5g() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getWifiChannel5g();
+        if (sysInfo != null) {
+            return sysInfo.wifiChannel5g();
         }
         return Optional.empty();
     }
 
     public TrafficInfo getTraffic() {
-        if (dpSysInfo != null) {
-            return dpSysInfo.getTraffic();
+        if (sysInfo != null) {
+            return sysInfo.traffic();
         }
         return new TrafficInfoEmpty();
     }
@@ -546,9 +570,9 @@ public class Node {
 
     public void collectStats() {
         if (!isDisplayed()) return;
-        StatsSQL.addVersion(getFirmwareVersion());
+        StatsSQL.addVersion(getFirmware());
         StatsSQL.addCommunity(getCommunity());
-        StatsSQL.addModel(getModel(), getManufacturer());
+        StatsSQL.addModel(getHardware());
         if (isNormalNode()) {
             StatsSQL.addGatewayUsage(getGateway());
             StatsSQL.addGatewayUsageClients(getGateway(), getClients());
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.archive;
+
+import de.freifunkdresden.viewerbackend.exception.ArchiveException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Adler32;
+
+// Preset deflate dictionary, archives carry the id of the dictionary they were written with. A released dictionary
+// is never changed, a retrained one gets the next id and the older ones stay bundled to keep old archives readable.
+public class ArchiveDictionary {
+
+    public static final int CURRENT = 1;
+    private static final String RESOURCE = "/dictionary/sysinfo-%d.dict";
+    private static final Map<Integer, ArchiveDictionary> DICTIONARIES = new HashMap<>();
+
+    private final int id;
+    private final byte[] data;
+    private final int checksum;
+
+    private ArchiveDictionary(int id, @NotNull byte[] data) {
+        this.id = id;
+        this.data = data;
+        Adler32 adler = new Adler32();
+        adler.update(data);
+        this.checksum = (int) adler.getValue();
+    }
+
+    @NotNull
+    public static ArchiveDictionary getCurrent() {
+        return get(CURRENT);
+    }
+
+    @NotNull
+    public static synchronized ArchiveDictionary get(int id) {
+        ArchiveDictionary dictionary = DICTIONARIES.get(id);
+        if (dictionary == null) {
+            try (InputStream in = ArchiveDictionary.class.getResourceAsStream(String.format(RESOURCE, id))) {
+                if (in == null) {
+                    throw new ArchiveException(String.format("Archive dictionary %d not found", id));
+                }
+                dictionary = new ArchiveDictionary(id, in.readAllBytes());
+            } catch (IOException e) {
+                throw new ArchiveException(String.format("Archive dictionary %d couldn't be loaded", id), e);
+            }
+            DICTIONARIES.put(id, dictionary);
+        }
+        return dictionary;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @NotNull
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getChecksum() {
+        return checksum;
+    }
+}
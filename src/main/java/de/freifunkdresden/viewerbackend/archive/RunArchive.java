@@ -0,0 +1,201 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.archive;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+public class RunArchive implements Closeable {
+
+    static final int MAGIC = 0x46465241;
+    static final int VERSION = 2;
+    static final String FILE_EXTENSION = ".ffar";
+    private static final Logger LOGGER = LogManager.getLogger(RunArchive.class);
+    private static final DateTimeFormatter RUN_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path path;
+    private final DataOutputStream out;
+    // idle deflaters, entries are compressed by the calling threads in parallel and only written under the lock
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+    private final byte[] dictionary;
+    private long bytes = 0;
+    private long compressedBytes = 0;
+    private volatile boolean failed = false;
+    private volatile boolean closed = false;
+
+    private RunArchive(@NotNull Path path) throws IOException {
+        this.path = path;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        ArchiveDictionary current = ArchiveDictionary.getCurrent();
+        this.dictionary = current.getData();
+        out.writeShort(current.getId());
+        out.writeInt(current.getChecksum());
+    }
+
+    @NotNull
+    public static RunArchive create(@NotNull Path directory) throws IOException {
+        return create(directory, LocalDateTime.now().format(RUN_FORMAT));
+    }
+
+    @NotNull
+    public static RunArchive create(@NotNull Path directory, @NotNull String run) throws IOException {
+        if (Files.notExists(directory)) {
+            Files.createDirectories(directory);
+        }
+        return new RunArchive(getPath(directory, run));
+    }
+
+    @NotNull
+    public static Path getPath(@NotNull Path directory, @NotNull String run) {
+        return directory.resolve(run.endsWith(FILE_EXTENSION) ? run : run + FILE_EXTENSION);
+    }
+
+    public static void cleanup(@NotNull Path directory, int keep) {
+        if (Files.notExists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> archives = files.filter(p -> p.getFileName().toString().endsWith(FILE_EXTENSION))
+                    .sorted()
+                    .toList();
+            for (int i = 0; i < archives.size() - keep; i++) {
+                Files.deleteIfExists(archives.get(i));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Old archives couldn't be removed", e);
+        }
+    }
+
+    @NotNull
+    public Path getPath() {
+        return path;
+    }
+
+    public void add(@NotNull EntryType type, int id, @NotNull String data) {
+        add(type, id, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // a broken archive must not break the run, the first write error disables the archive
+    public void add(@NotNull EntryType type, int id, @NotNull byte[] data) {
+        if (failed || closed) {
+            return;
+        }
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        byte[] buffer = new byte[Math.max(256, data.length / 4)];
+        int length = 0;
+        try {
+            deflater.reset();
+            deflater.setDictionary(dictionary);
+            deflater.setInput(data);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+        } finally {
+            release(deflater);
+        }
+        synchronized (this) {
+            if (failed || closed) {
+                return;
+            }
+            try {
+                out.writeByte(type.getId());
+                out.writeInt(id);
+                out.writeInt(data.length);
+                out.writeInt(length);
+                out.write(buffer, 0, length);
+                bytes += data.length;
+                compressedBytes += length;
+            } catch (IOException e) {
+                failed = true;
+                LOGGER.log(Level.WARN, String.format("Archive %s couldn't be written", path), e);
+            }
+        }
+    }
+
+    private void release(@NotNull Deflater deflater) {
+        if (closed) {
+            deflater.end();
+        } else {
+            deflaters.offer(deflater);
+        }
+    }
+
+    private void endDeflaters() {
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+    }
+
+    // drops an archive that was not completed, e.g. after the run failed
+    public synchronized void discard() {
+        closed = true;
+        endDeflaters();
+        try {
+            out.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, String.format("Archive %s couldn't be removed", path), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        endDeflaters();
+        try (out) {
+            out.writeByte(0);
+        }
+        LOGGER.log(Level.INFO, "Wrote archive {} ({} bytes, {} compressed)", path, bytes, compressedBytes);
+    }
+}
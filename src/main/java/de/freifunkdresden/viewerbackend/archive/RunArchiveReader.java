@@ -0,0 +1,173 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.archive;
+
+import de.freifunkdresden.viewerbackend.exception.ArchiveException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Reads the compressed file and indexes its entries, an entry is only inflated when it is requested
+public class RunArchiveReader {
+
+    // deflate can't expand more than 1032:1, a larger length is corrupt and must not size the inflate buffer
+    private static final int MAX_RATIO = 1032;
+    private static final int MIN_COMPRESSED = 16;
+
+    private final Path path;
+    private final long created;
+    private final byte[] content;
+    private final byte[] dictionary;
+    private final Map<EntryType, Map<Integer, Entry>> entries = new EnumMap<>(EntryType.class);
+
+    private RunArchiveReader(@NotNull Path path, long created, @NotNull byte[] content, @NotNull byte[] dictionary) {
+        this.path = path;
+        this.created = created;
+        this.content = content;
+        this.dictionary = dictionary;
+    }
+
+    @NotNull
+    public static RunArchiveReader read(@NotNull Path path) {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new ArchiveException(String.format("%s couldn't be read", path), e);
+        }
+        ByteBuffer in = ByteBuffer.wrap(content);
+        try {
+            if (in.getInt() != RunArchive.MAGIC || in.get() != RunArchive.VERSION) {
+                throw new ArchiveException(String.format("%s is not a run archive", path));
+            }
+            long created = in.getLong();
+            ArchiveDictionary dictionary = ArchiveDictionary.get(in.getShort());
+            if (in.getInt() != dictionary.getChecksum()) {
+                throw new ArchiveException(String.format("%s was written with a different dictionary %d", path,
+                        dictionary.getId()));
+            }
+            RunArchiveReader reader = new RunArchiveReader(path, created, content, dictionary.getData());
+            int typeId;
+            while ((typeId = in.get()) != 0) {
+                EntryType type = EntryType.getById(typeId);
+                if (type == null) {
+                    throw new ArchiveException(String.format("%s contains unknown entry type %d", path, typeId));
+                }
+                int id = in.getInt();
+                int length = in.getInt();
+                int compressedLength = in.getInt();
+                if (length < 0 || compressedLength < 0 || compressedLength > in.remaining()) {
+                    throw new ArchiveException(String.format("%s is truncated", path));
+                }
+                if (length > (long) Math.max(MIN_COMPRESSED, compressedLength) * MAX_RATIO) {
+                    throw new ArchiveException(String.format("%s claims %d bytes for an entry of %d bytes", path,
+                            length, compressedLength));
+                }
+                // later entries replace earlier ones, e.g. a retried fetch
+                reader.entries.computeIfAbsent(type, t -> new HashMap<>())
+                        .put(id, new Entry(in.position(), compressedLength, length));
+                in.position(in.position() + compressedLength);
+            }
+            return reader;
+        } catch (BufferUnderflowException e) {
+            throw new ArchiveException(String.format("%s is truncated", path), e);
+        }
+    }
+
+    @NotNull
+    public Path getPath() {
+        return path;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    @Nullable
+    public String getString(@NotNull EntryType type) {
+        byte[] data = get(type, 0);
+        return data == null ? null : new String(data, StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    public byte[] get(@NotNull EntryType type, int id) {
+        Entry entry = entries.getOrDefault(type, Map.of()).get(id);
+        return entry == null ? null : inflate(entry);
+    }
+
+    @NotNull
+    public Map<Integer, byte[]> getAll(@NotNull EntryType type) {
+        Map<Integer, byte[]> all = new HashMap<>();
+        entries.getOrDefault(type, Map.of()).forEach((id, entry) -> all.put(id, inflate(entry)));
+        return all;
+    }
+
+    @NotNull
+    private byte[] inflate(@NotNull Entry entry) {
+        byte[] data = new byte[entry.length()];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(dictionary);
+            // raw inflate may need one byte past the compressed data
+            if (entry.offset() + entry.compressedLength() < content.length) {
+                inflater.setInput(content, entry.offset(), entry.compressedLength() + 1);
+            } else {
+                byte[] compressed = new byte[entry.compressedLength() + 1];
+                System.arraycopy(content, entry.offset(), compressed, 0, entry.compressedLength());
+                inflater.setInput(compressed);
+            }
+            int length = 0;
+            while (length < data.length && !inflater.finished()) {
+                int n = inflater.inflate(data, length, data.length - length);
+                if (n == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != data.length) {
+                throw new ArchiveException(String.format("%s contains a corrupt entry", path));
+            }
+            return data;
+        } catch (DataFormatException e) {
+            throw new ArchiveException(String.format("%s contains a corrupt entry", path), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private record Entry(int offset, int compressedLength, int length) {
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.catalog;
+
+import de.freifunkdresden.viewerbackend.dataparser.FieldScanner;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Parses every distinct firmware version string once, nodes and stats share the parsed versions.
+public class FirmwareCatalog {
+
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    @Nullable
+    public Version get(@Nullable String raw) {
+        if (raw == null || raw.isEmpty()) {
+            return null;
+        }
+        return versions.computeIfAbsent(raw, Version::parse);
+    }
+
+    public int size() {
+        return versions.size();
+    }
+
+    // major.minor.patch, versions in another format are kept with -1 as numbers and sort before all others
+    public record Version(@NotNull String raw, int major, int minor, int patch) implements Comparable<Version> {
+
+        private static final Comparator<Version> ORDER = Comparator.comparingInt(Version::major)
+                .thenComparingInt(Version::minor)
+                .thenComparingInt(Version::patch)
+                .thenComparing(Version::raw);
+
+        @NotNull
+        private static Version parse(@NotNull String raw) {
+            FieldScanner scanner = new FieldScanner(raw);
+            if (scanner.count('.') == 3) {
+                try {
+                    return new Version(raw, scanner.field(0, '.').toInt(), scanner.field(1, '.').toInt(),
+                            scanner.field(2, '.').toInt());
+                } catch (NumberFormatException e) {
+                    // not a release version
+                }
+            }
+            return new Version(raw, -1, -1, -1);
+        }
+
+        public boolean isValid() {
+            return major >= 0;
+        }
+
+        public boolean isAtLeast(int major, int minor, int patch) {
+            if (!isValid()) {
+                return false;
+            }
+            if (this.major != major) {
+                return this.major > major;
+            }
+            if (this.minor != minor) {
+                return this.minor > minor;
+            }
+            return this.patch >= patch;
+        }
+
+        @Override
+        public int compareTo(@NotNull Version o) {
+            return ORDER.compare(this, o);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.catalog;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.exception.ConfigurationException;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+// Classifies every distinct model string once into manufacturer, model without revision and revision.
+// The rules ship as resource, a hardware.json in config_path replaces them.
+public class HardwareCatalog {
+
+    private static final Logger LOGGER = LogManager.getLogger(HardwareCatalog.class);
+    private static final String RESOURCE = "/hardware.json";
+    private static final String CONFIG_FILE = "hardware.json";
+
+    private final Map<String, Hardware> models = new ConcurrentHashMap<>();
+    private volatile Rules rules;
+
+    public void loadConfig(@NotNull Config config) {
+        Path file = Paths.get(config.getValue("config_path", "."), CONFIG_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            setRules(Rules.parse(Files.readString(file, StandardCharsets.UTF_8)));
+        } catch (RuntimeException | IOException e) {
+            throw new ConfigurationException(String.format("Hardware catalog `%s` couldn't be loaded", file), e);
+        }
+        LOGGER.log(Level.INFO, "Hardware catalog loaded from {}", file);
+    }
+
+    private void setRules(@NotNull Rules rules) {
+        this.rules = rules;
+        models.clear();
+    }
+
+    @NotNull
+    public Hardware get(@NotNull String raw) {
+        Hardware hardware = models.get(raw);
+        if (hardware == null) {
+            hardware = models.computeIfAbsent(raw, getRules()::classify);
+        }
+        return hardware;
+    }
+
+    public int size() {
+        return models.size();
+    }
+
+    @NotNull
+    private Rules getRules() {
+        Rules r = rules;
+        if (r == null) {
+            synchronized (this) {
+                if (rules == null) {
+                    rules = Rules.load();
+                }
+                r = rules;
+            }
+        }
+        return r;
+    }
+
+    public record Hardware(@NotNull String raw, @NotNull String manufacturer, @NotNull String model,
+                           @Nullable String revision) {
+    }
+
+    record Rules(@NotNull List<Manufacturer> manufacturers, @Nullable Pattern revision,
+                        @NotNull List<Replacement> replacements) {
+
+        @NotNull
+        private static Rules load() {
+            try (InputStream in = HardwareCatalog.class.getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new ConfigurationException("Hardware catalog not found");
+                }
+                return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new ConfigurationException("Hardware catalog couldn't be loaded", e);
+            }
+        }
+
+        @NotNull
+        static Rules parse(@NotNull String json) {
+            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+            List<Manufacturer> manufacturers = new ArrayList<>();
+            if (root.has("manufacturers")) {
+                root.get("manufacturers").getAsJsonArray().forEach(m -> {
+                    JsonObject o = m.getAsJsonObject();
+                    manufacturers.add(new Manufacturer(o.get("match").getAsString().toLowerCase(Locale.ROOT),
+                            o.get("name").getAsString()));
+                });
+            }
+            Pattern revision = null;
+            JsonElement r = root.get("revision");
+            if (r != null && !r.isJsonNull()) {
+                if (!r.getAsString().contains("(?<revision>")) {
+                    throw new ConfigurationException("Hardware catalog revision pattern needs a `revision` group");
+                }
+                try {
+                    revision = Pattern.compile(r.getAsString());
+                } catch (PatternSyntaxException e) {
+                    throw new ConfigurationException("Hardware catalog has an invalid revision pattern", e);
+                }
+            }
+            List<Replacement> replacements = new ArrayList<>();
+            if (root.has("replacements")) {
+                root.get("replacements").getAsJsonArray().forEach(m -> {
+                    JsonObject o = m.getAsJsonObject();
+                    replacements.add(new Replacement(o.get("from").getAsString(), o.get("to").getAsString()));
+                });
+            }
+            return new Rules(List.copyOf(manufacturers), revision, List.copyOf(replacements));
+        }
+
+        @NotNull
+        private Hardware classify(@NotNull String raw) {
+            String lower = raw.toLowerCase(Locale.ROOT);
+            String manufacturer = null;
+            for (Manufacturer m : manufacturers) {
+                if (lower.contains(m.match())) {
+                    manufacturer = m.name();
+                    break;
+                }
+            }
+            if (manufacturer == null) {
+                int space = raw.indexOf(' ');
+                manufacturer = space < 0 ? raw : raw.substring(0, space);
+            }
+            String model = raw;
+            String rev = null;
+            if (revision != null) {
+                Matcher matcher = revision.matcher(raw);
+                if (matcher.find()) {
+                    model = raw.substring(0, matcher.start());
+                    rev = matcher.group("revision");
+                }
+            }
+            for (Replacement replacement : replacements) {
+                model = model.replace(replacement.from(), replacement.to());
+            }
+            return new Hardware(raw, manufacturer, model, rev);
+        }
+    }
+
+    record Manufacturer(@NotNull String match, @NotNull String name) {
+    }
+
+    record Replacement(@NotNull String from, @NotNull String to) {
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CircuitBreaker {
+
+    private static final Logger LOGGER = LogManager.getLogger(CircuitBreaker.class);
+    private static final int MAX_PROBE_INTERVAL = 32;
+
+    private final Path file;
+    private final int threshold;
+    private final Map<Integer, Circuit> circuits = new ConcurrentHashMap<>();
+    private long run = 0;
+
+    public CircuitBreaker(@NotNull Path file, int threshold) {
+        this.file = file;
+        this.threshold = threshold;
+    }
+
+    public void load() {
+        if (Files.notExists(file)) {
+            return;
+        }
+        try {
+            JsonObject json = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            run = json.get("run").getAsLong();
+            json.get("nodes").getAsJsonObject().entrySet().forEach(e -> {
+                JsonObject c = e.getValue().getAsJsonObject();
+                circuits.put(Integer.parseInt(e.getKey()),
+                        new Circuit(c.get("failures").getAsInt(), c.get("lastAttempt").getAsLong()));
+            });
+        } catch (RuntimeException | IOException e) {
+            LOGGER.log(Level.WARN, "Circuit breaker table could not be loaded, starting empty", e);
+            circuits.clear();
+        }
+    }
+
+    public void save() {
+        JsonObject nodes = new JsonObject();
+        circuits.forEach((id, c) -> {
+            JsonObject circuit = new JsonObject();
+            circuit.addProperty("failures", c.failures());
+            circuit.addProperty("lastAttempt", c.lastAttempt());
+            nodes.add(String.valueOf(id), circuit);
+        });
+        JsonObject json = new JsonObject();
+        json.addProperty("run", run);
+        json.add("nodes", nodes);
+        try {
+            Files.writeString(file, json.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Circuit breaker table could not be saved", e);
+        }
+    }
+
+    public void startRun() {
+        run++;
+    }
+
+    public boolean isOpen(int nodeId) {
+        Circuit c = circuits.get(nodeId);
+        return c != null && c.failures() >= threshold;
+    }
+
+    public boolean shouldSkip(int nodeId) {
+        Circuit c = circuits.get(nodeId);
+        if (c == null || c.failures() < threshold) {
+            return false;
+        }
+        // probe interval doubles with every failed probe: every 2nd, 4th, ... up to every 32nd run
+        int shift = Math.min(c.failures() - threshold + 1, Integer.numberOfTrailingZeros(MAX_PROBE_INTERVAL));
+        return run - c.lastAttempt() < (1L << shift);
+    }
+
+    public void recordSuccess(int nodeId) {
+        circuits.remove(nodeId);
+    }
+
+    public void recordFailure(int nodeId) {
+        circuits.merge(nodeId, new Circuit(1, run), (old, c) -> new Circuit(old.failures() + 1, run));
+    }
+
+    private record Circuit(int failures, long lastAttempt) {
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import de.freifunkdresden.viewerbackend.exception.ConfigurationException;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public enum CollectorEngine {
+    // fixed pool of platform threads, every fetch blocks one pool thread
+    POOL("pool", 10) {
+        @Override
+        public ExecutorService createExecutor(int maxInFlight) {
+            return Executors.newFixedThreadPool(maxInFlight);
+        }
+    },
+    // one thread per fetch: virtual threads on Java 21+, otherwise one platform thread per in-flight fetch
+    THREAD_PER_TASK("thread-per-task", 256) {
+        @Override
+        public ExecutorService createExecutor(int maxInFlight) {
+            ExecutorService executor = newVirtualThreadExecutor();
+            if (executor != null) {
+                return executor;
+            }
+            return Executors.newFixedThreadPool(maxInFlight);
+        }
+    };
+
+    private static final Logger LOGGER = LogManager.getLogger(CollectorEngine.class);
+
+    private final String configName;
+    private final int defaultMaxInFlight;
+
+    CollectorEngine(String configName, int defaultMaxInFlight) {
+        this.configName = configName;
+        this.defaultMaxInFlight = defaultMaxInFlight;
+    }
+
+    public abstract ExecutorService createExecutor(int maxInFlight);
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public int getDefaultMaxInFlight() {
+        return defaultMaxInFlight;
+    }
+
+    @NotNull
+    public static CollectorEngine getByConfigName(@NotNull String name) {
+        for (CollectorEngine engine : values()) {
+            if (engine.configName.equalsIgnoreCase(name)) {
+                return engine;
+            }
+        }
+        throw new ConfigurationException(String.format("Unknown collector engine `%s`", name));
+    }
+
+    @Nullable
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.log(Level.DEBUG, "Virtual threads not available, using platform threads");
+            return null;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * The MIT License
  *
- * Copyright 2020 Niklas Merkelt.
+ * Copyright 2026 Niklas Merkelt.
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -22,18 +22,8 @@
  * THE SOFTWARE.
  */
 
-package de.freifunkdresden.viewerbackend.exception;
-
-import java.io.Serial;
-
-public class EmptyJsonException extends RuntimeException {
-
-    @Serial
-    private static final long serialVersionUID = 1L;
-
-    @Override
-    public String getMessage() {
-        return "Json is empty";
-    }
+package de.freifunkdresden.viewerbackend.collector;
 
+public record FetchContext(LatencyHistory latencyHistory, FetchMetrics metrics, boolean recordBodies, long deadline,
+                           long maxBodySize, int port) {
 }
@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import org.influxdb.dto.Point;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class FetchMetrics {
+
+    public static final long NOT_MEASURED = -1;
+    private static final long[] TIME_BUCKETS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+    private static final long[] BYTE_BUCKETS = {1024, 2048, 4096, 8192, 16384, 32768, 65536, 262144, 1048576};
+    private static final long[] ATTEMPT_BUCKETS = {1, 2, 3, 4, 5};
+
+    private final Map<FetchOutcome, LongAdder> outcomes;
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final Histogram connectTime = new Histogram("connect_ms", TIME_BUCKETS);
+    private final Histogram firstByteTime = new Histogram("first_byte_ms", TIME_BUCKETS);
+    private final Histogram totalTime = new Histogram("total_ms", TIME_BUCKETS);
+    private final Histogram parseTime = new Histogram("parse_ms", TIME_BUCKETS);
+    private final Histogram wireBytes = new Histogram("wire_bytes", BYTE_BUCKETS);
+    private final Histogram bytes = new Histogram("bytes", BYTE_BUCKETS);
+    private final Histogram attempts = new Histogram("attempts", ATTEMPT_BUCKETS);
+
+    public FetchMetrics() {
+        Map<FetchOutcome, LongAdder> map = new EnumMap<>(FetchOutcome.class);
+        for (FetchOutcome outcome : FetchOutcome.values()) {
+            map.put(outcome, new LongAdder());
+        }
+        this.outcomes = Collections.unmodifiableMap(map);
+    }
+
+    public void record(@NotNull Attempt attempt) {
+        outcomes.get(attempt.outcome()).increment();
+        if (attempt.outcome() == FetchOutcome.HTTP_STATUS) {
+            statusCodes.computeIfAbsent(attempt.statusCode(), c -> new LongAdder()).increment();
+        }
+        connectTime.add(attempt.connectTime());
+        firstByteTime.add(attempt.firstByteTime());
+        totalTime.add(attempt.totalTime());
+        parseTime.add(attempt.parseTime());
+        wireBytes.add(attempt.wireBytes());
+        bytes.add(attempt.bytes());
+    }
+
+    public void recordAttempts(int count) {
+        attempts.add(count);
+    }
+
+    public long getCount(@NotNull FetchOutcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    @NotNull
+    public List<Point> getPoints() {
+        List<Point> points = new ArrayList<>();
+        outcomes.forEach((outcome, count) -> points.add(Point.measurement("collector_fetch_outcome")
+                .tag("outcome", outcome.getStatName())
+                .addField("value", count.sum())
+                .build()));
+        statusCodes.forEach((code, count) -> points.add(Point.measurement("collector_fetch_status")
+                .tag("status", String.valueOf(code))
+                .addField("value", count.sum())
+                .build()));
+        for (Histogram h : getHistograms()) {
+            h.addPoints(points);
+        }
+        return points;
+    }
+
+    @NotNull
+    public String getSummary() {
+        StringJoiner sj = new StringJoiner(", ");
+        outcomes.forEach((outcome, count) -> {
+            long c = count.sum();
+            if (c > 0) {
+                sj.add(String.format("%s: %d", outcome.getStatName(), c));
+            }
+        });
+        return String.format("%s; total p50 %d ms, p95 %d ms; first byte p95 %d ms",
+                sj, totalTime.getPercentile(0.5), totalTime.getPercentile(0.95), firstByteTime.getPercentile(0.95));
+    }
+
+    @NotNull
+    private List<Histogram> getHistograms() {
+        return List.of(connectTime, firstByteTime, totalTime, parseTime, wireBytes, bytes, attempts);
+    }
+
+    public record Attempt(FetchOutcome outcome, int statusCode, long connectTime, long firstByteTime,
+                          long totalTime, long parseTime, long wireBytes, long bytes) {
+    }
+
+    private static class Histogram {
+
+        private final String name;
+        private final long[] bounds;
+        private final AtomicLongArray buckets;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+
+        private Histogram(String name, long[] bounds) {
+            this.name = name;
+            this.bounds = bounds;
+            this.buckets = new AtomicLongArray(bounds.length + 1);
+        }
+
+        private void add(long value) {
+            if (value < 0) {
+                return;
+            }
+            int i = 0;
+            while (i < bounds.length && value > bounds[i]) {
+                i++;
+            }
+            buckets.incrementAndGet(i);
+            count.increment();
+            sum.add(value);
+        }
+
+        // upper bound of the bucket holding the percentile, the last bound for the overflow bucket
+        private long getPercentile(double p) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return bounds[i];
+                }
+            }
+            return bounds[bounds.length - 1];
+        }
+
+        private void addPoints(@NotNull List<Point> points) {
+            long cumulative = 0;
+            for (int i = 0; i <= bounds.length; i++) {
+                cumulative += buckets.get(i);
+                points.add(Point.measurement("collector_fetch_histogram")
+                        .tag("metric", name)
+                        .tag("le", i < bounds.length ? String.valueOf(bounds[i]) : "+Inf")
+                        .addField("value", cumulative)
+                        .build());
+            }
+            points.add(Point.measurement("collector_fetch_summary")
+                    .tag("metric", name)
+                    .addField("count", count.sum())
+                    .addField("sum", sum.sum())
+                    .addField("p50", getPercentile(0.5))
+                    .addField("p95", getPercentile(0.95))
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import de.freifunkdresden.viewerbackend.exception.BodyTooLargeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+
+public enum FetchOutcome {
+    SUCCESS(true, false),
+    HTML_STRIPPED(true, false),
+    NO_ROUTE(false, false),
+    REFUSED(false, false),
+    TIMEOUT(false, true),
+    RESET(false, true),
+    TRUNCATED(false, true),
+    // depends on the status code, see isTransientStatus
+    HTTP_STATUS(false, false),
+    MALFORMED(false, false),
+    EMPTY(false, false),
+    TOO_LARGE(false, false),
+    CANCELLED(false, false),
+    ERROR(false, false),
+    ;
+
+    private final boolean success;
+    private final boolean transientFailure;
+
+    FetchOutcome(boolean success, boolean transientFailure) {
+        this.success = success;
+        this.transientFailure = transientFailure;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    // a transient failure may succeed when the fetch is repeated within the same run
+    public boolean isTransient() {
+        return transientFailure;
+    }
+
+    public static boolean isTransientStatus(int code) {
+        return code >= 500 || code == 408 || code == 429;
+    }
+
+    @NotNull
+    public String getStatName() {
+        return this.name().toLowerCase();
+    }
+
+    @NotNull
+    public static FetchOutcome classify(@Nullable Throwable t) {
+        if (t instanceof UncheckedIOException || t instanceof JsonIOException) {
+            return classify(t.getCause());
+        }
+        if (t instanceof NoRouteToHostException) {
+            return NO_ROUTE;
+        }
+        if (t instanceof ConnectException) {
+            return REFUSED;
+        }
+        if (t instanceof SocketTimeoutException) {
+            return TIMEOUT;
+        }
+        if (t instanceof SocketException) {
+            return RESET;
+        }
+        if (t instanceof EOFException) {
+            return TRUNCATED;
+        }
+        if (t instanceof BodyTooLargeException) {
+            return TOO_LARGE;
+        }
+        if (t instanceof JsonSyntaxException) {
+            return t.getCause() instanceof EOFException ? TRUNCATED : MALFORMED;
+        }
+        return ERROR;
+    }
+}
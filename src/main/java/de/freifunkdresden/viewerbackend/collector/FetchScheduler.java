@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import de.freifunkdresden.viewerbackend.Node;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FetchScheduler {
+
+    private final LatencyHistory history;
+
+    public FetchScheduler(@NotNull LatencyHistory history) {
+        this.history = history;
+    }
+
+    @NotNull
+    public List<Node> order(@NotNull Collection<Node> nodes) {
+        // nodes online last run first, then longest job first so slow nodes don't extend the tail of the run
+        List<Node> sorted = nodes.stream()
+                .sorted(Comparator.comparing((Node n) -> !history.wasOnline(n.getId()))
+                        .thenComparing(n -> history.getLastDuration(n.getId()), Comparator.reverseOrder())
+                        .thenComparing(Node::getId))
+                .toList();
+        // the upstreams are interleaved within each group, all nodes online last run still come first
+        List<Node> result = new ArrayList<>(sorted.size());
+        interleave(sorted.stream().filter(n -> history.wasOnline(n.getId())).toList(), result);
+        interleave(sorted.stream().filter(n -> !history.wasOnline(n.getId())).toList(), result);
+        return result;
+    }
+
+    private void interleave(@NotNull List<Node> sorted, @NotNull List<Node> result) {
+        // take one node per upstream path in turn, so parallel fetches are spread over the tunnels
+        Map<String, Deque<Node>> byUpstream = new LinkedHashMap<>();
+        sorted.forEach(n -> byUpstream.computeIfAbsent(history.getUpstream(n.getId()), u -> new ArrayDeque<>()).add(n));
+        while (!byUpstream.isEmpty()) {
+            Iterator<Deque<Node>> it = byUpstream.values().iterator();
+            while (it.hasNext()) {
+                Deque<Node> queue = it.next();
+                result.add(queue.pollFirst());
+                if (queue.isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+}
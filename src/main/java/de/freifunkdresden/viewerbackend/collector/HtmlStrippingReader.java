@@ -0,0 +1,138 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+public class HtmlStrippingReader extends FilterReader {
+
+    private static final char[] START = "<!DOCTYPE html>".toCharArray();
+    private static final char[] END = "</html>".toCharArray();
+    private static final char[] REPLACEMENT = "{}".toCharArray();
+
+    private final char[] out = new char[Math.max(START.length, REPLACEMENT.length) + 1];
+    private int outPos = 0;
+    private int outLen = 0;
+    private int matched = 0;
+    private boolean skipping = false;
+    private boolean stripped = false;
+
+    public HtmlStrippingReader(@NotNull Reader in) {
+        super(in);
+    }
+
+    public boolean hasStripped() {
+        return stripped;
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (outPos == outLen) {
+            outPos = 0;
+            outLen = 0;
+            int c = in.read();
+            if (c == -1) {
+                if (!skipping && matched > 0) {
+                    // stream ended inside a partial start marker, hand out what was held back
+                    System.arraycopy(START, 0, out, 0, matched);
+                    outLen = matched;
+                    matched = 0;
+                    continue;
+                }
+                return -1;
+            }
+            accept((char) c);
+        }
+        return out[outPos++];
+    }
+
+    @Override
+    public int read(@NotNull char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int n = 0;
+        while (n < len) {
+            if (n > 0 && outPos == outLen && !in.ready()) {
+                break;
+            }
+            int c = read();
+            if (c == -1) {
+                return n == 0 ? -1 : n;
+            }
+            cbuf[off + n++] = (char) c;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && read() != -1) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return outPos < outLen || in.ready();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void accept(char c) {
+        char[] marker = skipping ? END : START;
+        if (c == marker[matched]) {
+            matched++;
+            if (matched == marker.length) {
+                matched = 0;
+                skipping = !skipping;
+                if (skipping) {
+                    stripped = true;
+                    System.arraycopy(REPLACEMENT, 0, out, 0, REPLACEMENT.length);
+                    outLen = REPLACEMENT.length;
+                }
+            }
+            return;
+        }
+        // both markers contain '<' only at the start, so a mismatch can only restart the match at this char
+        if (!skipping) {
+            System.arraycopy(START, 0, out, 0, matched);
+            outLen = matched;
+        }
+        matched = c == marker[0] ? 1 : 0;
+        if (!skipping && matched == 0) {
+            out[outLen++] = c;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LatencyHistory {
+
+    private static final Logger LOGGER = LogManager.getLogger(LatencyHistory.class);
+    private static final int MAX_SAMPLES = 20;
+    private static final int MIN_SAMPLES = 3;
+    private static final double PERCENTILE = 0.95;
+    private static final int SLACK = 250;
+    public static final int TIMEOUT = -1;
+    public static final Timeouts DEFAULT_TIMEOUTS = new Timeouts(10000, 15000);
+    private static final Timeouts MIN_TIMEOUTS = new Timeouts(1000, 2000);
+
+    private final Path file;
+    private final Map<Integer, Samples> samples = new ConcurrentHashMap<>();
+
+    public LatencyHistory(@NotNull Path file) {
+        this.file = file;
+    }
+
+    public void load() {
+        if (Files.notExists(file)) {
+            return;
+        }
+        try {
+            JsonObject json = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            json.entrySet().forEach(e -> {
+                JsonObject node = e.getValue().getAsJsonObject();
+                Samples s = new Samples();
+                JsonArray connect = node.get("connect").getAsJsonArray();
+                JsonArray response = node.get("response").getAsJsonArray();
+                for (int i = 0; i < Math.min(connect.size(), response.size()); i++) {
+                    s.add(connect.get(i).getAsInt(), response.get(i).getAsInt());
+                }
+                if (node.has("duration")) {
+                    s.lastDuration = node.get("duration").getAsInt();
+                }
+                if (node.has("online")) {
+                    s.lastOnline = node.get("online").getAsBoolean();
+                }
+                if (node.has("upstream")) {
+                    s.upstream = node.get("upstream").getAsString();
+                }
+                samples.put(Integer.parseInt(e.getKey()), s);
+            });
+        } catch (RuntimeException | IOException e) {
+            LOGGER.log(Level.WARN, "Latency history could not be loaded, starting empty", e);
+            samples.clear();
+        }
+    }
+
+    public void save() {
+        JsonObject json = new JsonObject();
+        samples.forEach((id, s) -> json.add(String.valueOf(id), s.toJson()));
+        try {
+            Files.writeString(file, json.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Latency history could not be saved", e);
+        }
+    }
+
+    public void record(int nodeId, int connect, int response) {
+        samples.computeIfAbsent(nodeId, id -> new Samples()).add(connect, response);
+    }
+
+    public void recordRun(int nodeId, int duration, boolean online) {
+        Samples s = samples.computeIfAbsent(nodeId, id -> new Samples());
+        synchronized (s) {
+            s.lastDuration = duration;
+            s.lastOnline = online;
+        }
+    }
+
+    public void recordUpstream(int nodeId, @NotNull String upstream) {
+        Samples s = samples.computeIfAbsent(nodeId, id -> new Samples());
+        synchronized (s) {
+            s.upstream = upstream;
+        }
+    }
+
+    @NotNull
+    public String getUpstream(int nodeId) {
+        Samples s = samples.get(nodeId);
+        return s == null || s.upstream == null ? UpstreamLimiter.UNKNOWN : s.upstream;
+    }
+
+    public int getLastDuration(int nodeId) {
+        Samples s = samples.get(nodeId);
+        return s == null ? 0 : s.lastDuration;
+    }
+
+    public boolean wasOnline(int nodeId) {
+        // nodes never fetched before are in the route table, so expect them to answer
+        Samples s = samples.get(nodeId);
+        return s == null || s.lastOnline;
+    }
+
+    @NotNull
+    public Timeouts getTimeouts(int nodeId) {
+        Samples s = samples.get(nodeId);
+        if (s == null) {
+            return DEFAULT_TIMEOUTS;
+        }
+        int[] connect;
+        int[] response;
+        synchronized (s) {
+            connect = Arrays.copyOf(s.connect, s.size);
+            response = Arrays.stream(s.response, 0, s.size).filter(r -> r != Samples.NOT_CONNECTED).toArray();
+        }
+        return new Timeouts(derive(connect, DEFAULT_TIMEOUTS.connect(), MIN_TIMEOUTS.connect()),
+                derive(response, DEFAULT_TIMEOUTS.read(), MIN_TIMEOUTS.read()));
+    }
+
+    private static int derive(@NotNull int[] values, int defaultTimeout, int minTimeout) {
+        if (values.length < MIN_SAMPLES) {
+            return defaultTimeout;
+        }
+        // sort timeouts to the end, they count as slower than every answered request
+        long[] sorted = Arrays.stream(values).mapToLong(v -> v == TIMEOUT ? Long.MAX_VALUE : v).sorted().toArray();
+        long percentile = sorted[(int) Math.ceil(PERCENTILE * sorted.length) - 1];
+        if (percentile == Long.MAX_VALUE) {
+            // always timing out: just probe with a short timeout instead of waiting the full time
+            return sorted[0] == Long.MAX_VALUE ? minTimeout : defaultTimeout;
+        }
+        return (int) Math.max(minTimeout, Math.min(defaultTimeout, percentile * 2 + SLACK));
+    }
+
+    public record Timeouts(int connect, int read) {
+    }
+
+    private static class Samples {
+
+        private static final int NOT_CONNECTED = -2;
+
+        private final int[] connect = new int[MAX_SAMPLES];
+        private final int[] response = new int[MAX_SAMPLES];
+        private int size = 0;
+        private int lastDuration = 0;
+        private boolean lastOnline = true;
+        private String upstream = null;
+
+        private synchronized void add(int c, int r) {
+            if (size == MAX_SAMPLES) {
+                System.arraycopy(connect, 1, connect, 0, MAX_SAMPLES - 1);
+                System.arraycopy(response, 1, response, 0, MAX_SAMPLES - 1);
+                size--;
+            }
+            connect[size] = c;
+            response[size] = c == TIMEOUT ? NOT_CONNECTED : r;
+            size++;
+        }
+
+        @NotNull
+        private synchronized JsonElement toJson() {
+            JsonArray c = new JsonArray();
+            JsonArray r = new JsonArray();
+            for (int i = 0; i < size; i++) {
+                c.add(connect[i]);
+                r.add(response[i]);
+            }
+            JsonObject json = new JsonObject();
+            json.add("connect", c);
+            json.add("response", r);
+            json.addProperty("duration", lastDuration);
+            json.addProperty("online", lastOnline);
+            if (upstream != null) {
+                json.addProperty("upstream", upstream);
+            }
+            return json;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.exception.BodyTooLargeException;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+// Sends a single respondd-like query to the mesh and collects the compressed replies of all nodes that support it
+public class MulticastCollector {
+
+    public static final String QUERY = "GET sysinfo";
+    public static final String DEFAULT_GROUP = "239.255.200.1";
+    public static final int DEFAULT_PORT = 1001;
+    // the default multicast ttl of 1 would not leave the first hop of the routed mesh
+    public static final int DEFAULT_TTL = 32;
+    private static final Logger LOGGER = LogManager.getLogger(MulticastCollector.class);
+    private static final int MAX_PACKET_SIZE = 65535;
+
+    private final InetAddress group;
+    private final int port;
+    private final String interfaceName;
+    private final int ttl;
+    private final int timeout;
+    private final long maxBodySize;
+    private int invalid = 0;
+
+    public MulticastCollector(@NotNull InetAddress group, int port, @Nullable String interfaceName, int ttl,
+                              int timeout, long maxBodySize) {
+        this.group = group;
+        this.port = port;
+        this.interfaceName = interfaceName;
+        this.ttl = ttl;
+        this.timeout = timeout;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Nullable
+    public static MulticastCollector create(@NotNull Config config, long maxBodySize) {
+        if (!config.getBooleanValue("multicast", false)) {
+            return null;
+        }
+        try {
+            String interfaceName = config.getValue("multicast_interface", "");
+            if (!interfaceName.isBlank() && NetworkInterface.getByName(interfaceName) == null) {
+                LOGGER.log(Level.WARN, "Multicast interface {} doesn't exist, collecting over http only",
+                        interfaceName);
+                return null;
+            }
+            return new MulticastCollector(InetAddress.getByName(config.getValue("multicast_group", DEFAULT_GROUP)),
+                    config.getIntValue("multicast_port", DEFAULT_PORT),
+                    interfaceName.isBlank() ? null : interfaceName,
+                    Math.min(255, Math.max(1, config.getIntValue("multicast_ttl", DEFAULT_TTL))),
+                    Math.max(1, config.getIntValue("multicast_timeout", 3000)), maxBodySize);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Multicast group is invalid, collecting over http only", e);
+            return null;
+        }
+    }
+
+    // returns the decompressed replies by node id, nodes without a reply are left to the http collector
+    @NotNull
+    public Map<Integer, byte[]> query(@NotNull Collection<Node> nodes) {
+        Map<Integer, Node> expected = nodes.stream().collect(Collectors.toMap(Node::getId, Function.identity()));
+        Map<Integer, byte[]> replies = new HashMap<>();
+        invalid = 0;
+        try (MulticastSocket socket = new MulticastSocket(0)) {
+            if (interfaceName != null) {
+                NetworkInterface networkInterface = NetworkInterface.getByName(interfaceName);
+                if (networkInterface == null) {
+                    LOGGER.log(Level.WARN, "Multicast interface {} is gone, skipping the query", interfaceName);
+                    return replies;
+                }
+                socket.setNetworkInterface(networkInterface);
+            }
+            socket.setTimeToLive(ttl);
+            byte[] query = QUERY.getBytes(StandardCharsets.US_ASCII);
+            socket.send(new DatagramPacket(query, query.length, group, port));
+            long deadline = System.currentTimeMillis() + timeout;
+            byte[] buffer = new byte[MAX_PACKET_SIZE];
+            while (replies.size() < expected.size()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                socket.setSoTimeout((int) remaining);
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                try {
+                    socket.receive(packet);
+                } catch (SocketTimeoutException e) {
+                    break;
+                }
+                Node node = expected.get(Node.convertIpToId(packet.getAddress().getHostAddress()));
+                if (node == null || !node.getIpAddress().equals(packet.getAddress())) {
+                    continue;
+                }
+                byte[] body = decode(packet);
+                if (body == null) {
+                    invalid++;
+                } else {
+                    replies.put(node.getId(), body);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Multicast query failed", e);
+        }
+        return replies;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    @Nullable
+    private byte[] decode(@NotNull DatagramPacket packet) {
+        byte[] data = packet.getData();
+        int offset = packet.getOffset();
+        int length = packet.getLength();
+        if (length == 0) {
+            return null;
+        }
+        // an Inflater passed to InflaterInputStream is not ended on close, its native memory is released here
+        Inflater inflater = null;
+        try {
+            InputStream in = new ByteArrayInputStream(data, offset, length);
+            if (data[offset] == '{') {
+                return in.readAllBytes();
+            }
+            if (length > 1 && (data[offset] & 0xff) == 0x1f && (data[offset + 1] & 0xff) == 0x8b) {
+                in = new GZIPInputStream(in);
+            } else {
+                // respondd replies are raw deflate
+                inflater = new Inflater(true);
+                in = new InflaterInputStream(in, inflater);
+            }
+            try (CountingInputStream body = new CountingInputStream(in, maxBodySize)) {
+                return body.readAllBytes();
+            }
+        } catch (BodyTooLargeException e) {
+            LOGGER.log(Level.WARN, "Node {}: Multicast reply exceeds {} bytes",
+                    Node.convertIpToId(packet.getAddress().getHostAddress()), maxBodySize);
+            return null;
+        } catch (IOException e) {
+            return null;
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import de.freifunkdresden.viewerbackend.Cache;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.NodeType;
+import de.freifunkdresden.viewerbackend.archive.EntryType;
+import de.freifunkdresden.viewerbackend.archive.RunArchive;
+import de.freifunkdresden.viewerbackend.archive.RunArchiveReader;
+import de.freifunkdresden.viewerbackend.config.CommunityDirectory;
+import de.freifunkdresden.viewerbackend.config.VpnServerDirectory;
+import de.freifunkdresden.viewerbackend.exception.NodeCollectionException;
+import de.freifunkdresden.viewerbackend.stats.StatsSQL;
+import de.freifunkdresden.viewerbackend.thread.NodeSysInfoThread;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+public class NodeCollector {
+
+    private static final Logger LOGGER = LogManager.getLogger(NodeCollector.class);
+    private static final String LATENCY_CACHE_FILE_NAME = "latency.json";
+    private static final String CIRCUIT_CACHE_FILE_NAME = "circuits.json";
+    private static final String POLLING_CACHE_FILE_NAME = "polling.json";
+
+    private final CollectorEngine engine;
+    private final int maxInFlight;
+    private final long retryBackoff;
+    private final long maxBodySize;
+    private final int port;
+    private final long executionLimit;
+    private final LatencyHistory latencyHistory;
+    private final FetchScheduler scheduler;
+    private final CircuitBreaker circuitBreaker;
+    private final ReachabilityProbe probe;
+    private final UpstreamLimiter upstreamLimiter;
+    private final VpnServerDirectory vpnServers;
+    private final PollingPolicy polling;
+    private final PushStore pushes;
+    private final MulticastCollector multicast;
+    // bodies from other sources are parsed again, but must not show up in the fetch metrics
+    private final FetchContext adoptContext;
+    private int skipped = 0;
+    private int pushed = 0;
+    private int answered = 0;
+    private int carried = 0;
+    private FetchMetrics metrics = new FetchMetrics();
+    private RunArchive archive;
+
+    public NodeCollector(@NotNull Config config, @NotNull Cache cache) {
+        this(config, cache, cache);
+    }
+
+    // the collector state (latency, circuits, polling tiers) is kept per process, e.g. per shard
+    public NodeCollector(@NotNull Config config, @NotNull Cache cache, @NotNull Cache stateCache) {
+        this.engine = CollectorEngine.getByConfigName(config.getValue("collector_engine",
+                CollectorEngine.THREAD_PER_TASK.getConfigName()));
+        this.maxInFlight = Math.max(1, config.getIntValue("collector_max_in_flight", engine.getDefaultMaxInFlight()));
+        this.retryBackoff = Math.max(0, config.getIntValue("collector_retry_backoff", 2000));
+        this.maxBodySize = Math.max(1, config.getIntValue("collector_max_body", 2 * 1024 * 1024));
+        this.port = config.getIntValue("collector_port", NodeSysInfoThread.HTTP_PORT);
+        this.executionLimit = TimeUnit.SECONDS.toMillis(Math.max(1, config.getIntValue("collector_deadline", 120)));
+        this.latencyHistory = new LatencyHistory(stateCache.resolveCacheFile(LATENCY_CACHE_FILE_NAME));
+        this.scheduler = new FetchScheduler(latencyHistory);
+        this.circuitBreaker = new CircuitBreaker(stateCache.resolveCacheFile(CIRCUIT_CACHE_FILE_NAME),
+                Math.max(1, config.getIntValue("collector_circuit_threshold", 5)));
+        this.probe = config.getBooleanValue("collector_probe", true)
+                ? new ReachabilityProbe(port, config.getIntValue("collector_probe_timeout", 3000),
+                Math.max(1, config.getIntValue("collector_probe_parallel", 1024)))
+                : null;
+        this.upstreamLimiter = new UpstreamLimiter(config);
+        this.vpnServers = config.getVpnServerDirectory();
+        Path pollingFile = stateCache.resolveCacheFile(POLLING_CACHE_FILE_NAME);
+        this.polling = config.getBooleanValue("polling", false)
+                ? new PollingPolicy(pollingFile, pollingFile.getParent(),
+                Math.max(0, config.getIntValue("polling_max_tier", 3)),
+                Math.max(1, config.getIntValue("polling_promote_after", 3)),
+                TimeUnit.SECONDS.toMillis(config.getIntValue("polling_online_max_age", 900)),
+                TimeUnit.SECONDS.toMillis(config.getIntValue("polling_clients_max_age", 300)))
+                : null;
+        this.pushes = config.getBooleanValue("ingest", false) ? PushStore.create(config, cache) : null;
+        this.multicast = MulticastCollector.create(config, maxBodySize);
+        this.adoptContext = createReplayContext(new FetchMetrics());
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getPushed() {
+        return pushed;
+    }
+
+    public int getAnswered() {
+        return answered;
+    }
+
+    public int getCarried() {
+        return carried;
+    }
+
+    public FetchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setArchive(@Nullable RunArchive archive) {
+        this.archive = archive;
+    }
+
+    public void collect(@NotNull Collection<Node> nodes) {
+        LOGGER.log(Level.INFO, "Collecting {} nodes (engine: {}, max in flight: {})",
+                nodes.size(), engine.getConfigName(), maxInFlight);
+        long deadline = System.currentTimeMillis() + executionLimit;
+        metrics = new FetchMetrics();
+        latencyHistory.load();
+        circuitBreaker.load();
+        circuitBreaker.startRun();
+        List<Node> remaining = pushes != null ? applyPushes(nodes) : List.copyOf(nodes);
+        if (multicast != null) {
+            remaining = queryMulticast(remaining);
+        }
+        List<Node> candidates = remaining.stream().filter(n -> !circuitBreaker.shouldSkip(n.getId())).toList();
+        skipped = remaining.size() - candidates.size();
+        if (skipped > 0) {
+            LOGGER.log(Level.INFO, "Skipping {} nodes with open circuit", skipped);
+        }
+        if (polling != null) {
+            candidates = carryForward(candidates);
+        }
+        if (probe != null) {
+            candidates = probe(candidates);
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        FetchContext context = new FetchContext(latencyHistory, metrics, archive != null || polling != null, deadline,
+                maxBodySize, port);
+        List<NodeSysInfoThread> tasks = scheduler.order(candidates).stream()
+                .map(n -> new NodeSysInfoThread(n, context,
+                        circuitBreaker.isOpen(n.getId()) ? 1 : NodeSysInfoThread.RETRY_COUNT))
+                .toList();
+        List<NodeSysInfoThread> pending = tasks;
+        ExecutorService executor = engine.createExecutor(maxInFlight);
+        try {
+            LOGGER.log(Level.INFO, "Waiting threads to finish...");
+            for (int round = 1; !pending.isEmpty(); round++) {
+                if (round > 1) {
+                    long backoff = retryBackoff << (round - 2);
+                    if (System.currentTimeMillis() + backoff >= deadline) {
+                        LOGGER.log(Level.WARN, "No time left to retry {} nodes", pending.size());
+                        break;
+                    }
+                    LOGGER.log(Level.INFO, "Retrying {} nodes in {} ms (round {})", pending.size(), backoff, round);
+                    Thread.sleep(backoff);
+                }
+                if (!runPass(executor, inFlight, pending, deadline)) {
+                    break;
+                }
+                pending = pending.stream().filter(NodeSysInfoThread::isRetryable).toList();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new NodeCollectionException(ex);
+        } finally {
+            tasks.forEach(NodeSysInfoThread::cancel);
+            executor.shutdownNow();
+            tasks.stream().filter(t -> t.getAttempt() > 0).forEach(this::recordResult);
+            latencyHistory.save();
+            circuitBreaker.save();
+            if (polling != null) {
+                polling.save();
+            }
+            LOGGER.log(Level.INFO, "Fetch results: {}", metrics.getSummary());
+            StatsSQL.addFetchMetrics(metrics);
+        }
+    }
+
+    // replays the archived responses, the collector state (latency history, circuits) is left untouched
+    public void replay(@NotNull Collection<Node> nodes, @NotNull RunArchiveReader reader) {
+        LOGGER.log(Level.INFO, "Replaying {} nodes from {}", nodes.size(), reader.getPath());
+        metrics = new FetchMetrics();
+        FetchContext context = createReplayContext(metrics);
+        for (Node node : nodes) {
+            byte[] body = reader.get(EntryType.SYSINFO, node.getId());
+            if (body != null) {
+                new NodeSysInfoThread(node, context, 1).replay(body);
+            }
+        }
+        LOGGER.log(Level.INFO, "Fetch results: {}", metrics.getSummary());
+        StatsSQL.addFetchMetrics(metrics);
+    }
+
+    // adds the nodes another shard collected, this shard's collector state is left untouched
+    public int merge(@NotNull Collection<Node> nodes, @NotNull RunArchiveReader snapshot) {
+        int merged = 0;
+        for (Node node : nodes) {
+            byte[] state = snapshot.get(EntryType.NODE_STATE, node.getId());
+            if (node.isOnline() || state == null) {
+                continue;
+            }
+            if (adopt(node, snapshot.get(EntryType.SYSINFO, node.getId()))) {
+                Sharding.applyState(node, state);
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    @NotNull
+    private List<Node> applyPushes(@NotNull Collection<Node> nodes) {
+        pushes.load();
+        long now = System.currentTimeMillis();
+        List<Node> remaining = new ArrayList<>();
+        for (Node node : nodes) {
+            byte[] body = pushes.isRecent(node.getId(), now) ? pushes.getBody(node.getId()) : null;
+            if (adopt(node, body)) {
+                node.setSysInfoLastSeen(pushes.getReceived(node.getId()));
+            } else {
+                remaining.add(node);
+            }
+        }
+        pushed = nodes.size() - remaining.size();
+        LOGGER.log(Level.INFO, "{} nodes pushed their data, polling {}", pushed, remaining.size());
+        return remaining;
+    }
+
+    @NotNull
+    private List<Node> queryMulticast(@NotNull List<Node> nodes) {
+        Map<Integer, byte[]> replies = multicast.query(nodes);
+        List<Node> remaining = new ArrayList<>();
+        for (Node node : nodes) {
+            if (adopt(node, replies.get(node.getId()))) {
+                circuitBreaker.recordSuccess(node.getId());
+            } else {
+                remaining.add(node);
+            }
+        }
+        answered = nodes.size() - remaining.size();
+        LOGGER.log(Level.INFO, "{} nodes answered the multicast query ({} invalid replies), {} left for http",
+                answered, multicast.getInvalid(), remaining.size());
+        return remaining;
+    }
+
+    @NotNull
+    private List<Node> carryForward(@NotNull List<Node> candidates) {
+        polling.load();
+        polling.startRun();
+        long now = System.currentTimeMillis();
+        List<Node> due = new ArrayList<>();
+        for (Node node : candidates) {
+            byte[] body = polling.isDue(node.getId(), now) ? null : polling.getBody(node.getId());
+            if (adopt(node, body)) {
+                node.carrySysInfoForward(polling.getFetched(node.getId()));
+            } else {
+                due.add(node);
+            }
+        }
+        carried = candidates.size() - due.size();
+        LOGGER.log(Level.INFO, "Carrying {} nodes forward, polling {}", carried, due.size());
+        return due;
+    }
+
+    // parses a body that was not fetched over http in this run, a node that comes online is archived like a fetched one
+    private boolean adopt(@NotNull Node node, @Nullable byte[] body) {
+        if (body == null) {
+            return false;
+        }
+        new NodeSysInfoThread(node, adoptContext, 1).replay(body);
+        if (!node.isOnline()) {
+            return false;
+        }
+        if (archive != null) {
+            archive.add(EntryType.SYSINFO, node.getId(), body);
+        }
+        return true;
+    }
+
+    @NotNull
+    private FetchContext createReplayContext(@NotNull FetchMetrics replayMetrics) {
+        return new FetchContext(latencyHistory, replayMetrics, false, Long.MAX_VALUE, maxBodySize, port);
+    }
+
+    // compared with the fingerprint the last process saved, so it is built from the string form only.
+    // The client count is left out, it changes often and polling_clients_max_age already covers it.
+    private static int getFingerprint(@NotNull Node node) {
+        CommunityDirectory.Community community = node.getCommunity();
+        NodeType role = node.getRole();
+        String values = String.join("\u0000", String.valueOf(node.getName()), String.valueOf(node.getEMail()),
+                String.valueOf(node.getModel()), String.valueOf(node.getLocation()),
+                String.valueOf(node.getFirmwareVersion()), String.valueOf(node.getFirmwareGitRev()),
+                community != null ? community.name() : "", role != null ? role.name() : "");
+        CRC32 crc = new CRC32();
+        crc.update(values.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    @NotNull
+    private List<Node> probe(@NotNull List<Node> candidates) {
+        LOGGER.log(Level.INFO, "Probing {} nodes...", candidates.size());
+        Set<Node> reachable = probe.probe(candidates);
+        candidates.stream().filter(n -> !reachable.contains(n)).forEach(n -> {
+            latencyHistory.recordRun(n.getId(), 0, false);
+            circuitBreaker.recordFailure(n.getId());
+            if (polling != null) {
+                polling.recordFailure(n.getId());
+            }
+        });
+        LOGGER.log(Level.INFO, "{} of {} nodes accepted a connection", reachable.size(), candidates.size());
+        return candidates.stream().filter(reachable::contains).toList();
+    }
+
+    private void recordResult(@NotNull NodeSysInfoThread task) {
+        Node node = task.getNode();
+        metrics.recordAttempts(task.getAttempt());
+        latencyHistory.recordRun(node.getId(), (int) task.getDuration(), node.isOnline());
+        if (archive != null && task.getBody() != null) {
+            archive.add(EntryType.SYSINFO, node.getId(), task.getBody());
+        }
+        if (node.isOnline()) {
+            latencyHistory.recordUpstream(node.getId(), UpstreamLimiter.getUpstream(node, vpnServers));
+            circuitBreaker.recordSuccess(node.getId());
+            if (polling != null) {
+                polling.recordFetch(node.getId(), getFingerprint(node), node.getClients(), task.getBody());
+            }
+        } else {
+            circuitBreaker.recordFailure(node.getId());
+            if (polling != null) {
+                polling.recordFailure(node.getId());
+            }
+        }
+    }
+
+    // A task only gets a pool thread once its upstream has a free slot. Tasks behind a busy tunnel stay in the
+    // queue, so they can't occupy the threads of a fixed pool and hold back the nodes behind other upstreams.
+    private boolean runPass(@NotNull ExecutorService executor, @NotNull Semaphore inFlight,
+                            @NotNull List<NodeSysInfoThread> tasks, long deadline) throws InterruptedException {
+        Semaphore finished = new Semaphore(0);
+        List<Submission> submitted = new ArrayList<>(tasks.size());
+        List<NodeSysInfoThread> queued = tasks;
+        while (!queued.isEmpty() && System.currentTimeMillis() < deadline) {
+            List<NodeSysInfoThread> blocked = new ArrayList<>();
+            for (NodeSysInfoThread task : queued) {
+                Semaphore upstream = upstreamLimiter.getLimit(latencyHistory.getUpstream(task.getNode().getId()));
+                if (upstream != null && !upstream.tryAcquire()) {
+                    blocked.add(task);
+                    continue;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (!inFlight.tryAcquire(Math.max(0, remaining), TimeUnit.MILLISECONDS)) {
+                    if (upstream != null) {
+                        upstream.release();
+                    }
+                    blocked.add(task);
+                    continue;
+                }
+                Runnable release = () -> {
+                    inFlight.release();
+                    if (upstream != null) {
+                        upstream.release();
+                    }
+                    finished.release();
+                };
+                AtomicBoolean started = new AtomicBoolean();
+                Future<?> future = executor.submit(() -> {
+                    if (!started.compareAndSet(false, true)) {
+                        return;
+                    }
+                    try {
+                        task.run();
+                    } finally {
+                        release.run();
+                    }
+                });
+                submitted.add(new Submission(task, future, started, release));
+            }
+            queued = blocked;
+            if (!queued.isEmpty()) {
+                // every upstream of the queued tasks is busy, wait for a running task to free a slot
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining > 0 && finished.tryAcquire(remaining, TimeUnit.MILLISECONDS)) {
+                    finished.drainPermits();
+                }
+            }
+        }
+        long notProcessed = queued.size();
+        queued.forEach(NodeSysInfoThread::cancel);
+        for (Submission submission : submitted) {
+            try {
+                submission.future().get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                submission.future().cancel(true);
+                submission.task().cancel();
+                // a task still waiting in the pool queue never runs its finally, its slots are freed here
+                if (submission.started().compareAndSet(false, true)) {
+                    submission.release().run();
+                }
+                notProcessed++;
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.ERROR, String.format("Node %d: ", submission.task().getNode().getId()),
+                        e.getCause());
+            }
+        }
+        if (notProcessed > 0) {
+            LOGGER.log(Level.ERROR, "Node Collector hit execution limit!");
+            LOGGER.log(Level.ERROR, "{} tasks not processed", notProcessed);
+            return false;
+        }
+        return true;
+    }
+
+    private record Submission(NodeSysInfoThread task, Future<?> future, AtomicBoolean started, Runnable release) {
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.freifunkdresden.viewerbackend.archive.EntryType;
+import de.freifunkdresden.viewerbackend.archive.RunArchive;
+import de.freifunkdresden.viewerbackend.archive.RunArchiveReader;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Nodes whose data didn't change for a while move to slower tiers and are only fetched every 2nd, 4th, ...
+// run. In between, the last response is parsed again and carried forward with its original timestamp.
+public class PollingPolicy {
+
+    private static final Logger LOGGER = LogManager.getLogger(PollingPolicy.class);
+    private static final String STORE_NAME = "polling";
+
+    private final Path file;
+    private final Path directory;
+    private final int maxTier;
+    private final int promoteAfter;
+    private final long onlineMaxAge;
+    private final long clientsMaxAge;
+    private final Map<Integer, Tier> tiers = new ConcurrentHashMap<>();
+    private final Map<Integer, byte[]> bodies = new ConcurrentHashMap<>();
+    private long run = 0;
+
+    public PollingPolicy(@NotNull Path file, @NotNull Path directory, int maxTier, int promoteAfter,
+                         long onlineMaxAge, long clientsMaxAge) {
+        this.file = file;
+        this.directory = directory;
+        this.maxTier = maxTier;
+        this.promoteAfter = promoteAfter;
+        this.onlineMaxAge = onlineMaxAge;
+        this.clientsMaxAge = clientsMaxAge;
+    }
+
+    public void load() {
+        Path store = RunArchive.getPath(directory, STORE_NAME);
+        if (Files.notExists(file) || Files.notExists(store)) {
+            return;
+        }
+        try {
+            JsonObject json = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            run = json.get("run").getAsLong();
+            json.get("nodes").getAsJsonObject().entrySet().forEach(e -> {
+                JsonObject t = e.getValue().getAsJsonObject();
+                tiers.put(Integer.parseInt(e.getKey()), new Tier(t.get("tier").getAsInt(), t.get("stable").getAsInt(),
+                        t.get("fingerprint").getAsInt(), t.get("lastRun").getAsLong(), t.get("fetched").getAsLong(),
+                        t.get("clients").getAsInt()));
+            });
+            bodies.putAll(RunArchiveReader.read(store).getAll(EntryType.SYSINFO));
+        } catch (RuntimeException | IOException e) {
+            LOGGER.log(Level.WARN, "Polling tiers could not be loaded, polling all nodes", e);
+            tiers.clear();
+            bodies.clear();
+        }
+    }
+
+    public void save() {
+        JsonObject nodes = new JsonObject();
+        tiers.forEach((id, t) -> {
+            JsonObject tier = new JsonObject();
+            tier.addProperty("tier", t.tier());
+            tier.addProperty("stable", t.stable());
+            tier.addProperty("fingerprint", t.fingerprint());
+            tier.addProperty("lastRun", t.lastRun());
+            tier.addProperty("fetched", t.fetched());
+            tier.addProperty("clients", t.clients());
+            nodes.add(String.valueOf(id), tier);
+        });
+        JsonObject json = new JsonObject();
+        json.addProperty("run", run);
+        json.add("nodes", nodes);
+        String tmpName = STORE_NAME + ".new";
+        try (RunArchive store = RunArchive.create(directory, tmpName)) {
+            tiers.keySet().forEach(id -> {
+                byte[] body = bodies.get(id);
+                if (body != null) {
+                    store.add(EntryType.SYSINFO, id, body);
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Polling store could not be saved", e);
+            return;
+        }
+        try {
+            Files.move(RunArchive.getPath(directory, tmpName), RunArchive.getPath(directory, STORE_NAME),
+                    StandardCopyOption.REPLACE_EXISTING);
+            Files.writeString(file, json.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Polling tiers could not be saved", e);
+        }
+    }
+
+    public void startRun() {
+        run++;
+    }
+
+    public boolean isDue(int nodeId, long now) {
+        Tier t = tiers.get(nodeId);
+        if (t == null || !bodies.containsKey(nodeId)) {
+            return true;
+        }
+        long age = now - t.fetched();
+        if (age > onlineMaxAge || (t.clients() > 0 && age > clientsMaxAge)) {
+            return true;
+        }
+        return run - t.lastRun() >= (1L << t.tier());
+    }
+
+    @Nullable
+    public byte[] getBody(int nodeId) {
+        return bodies.get(nodeId);
+    }
+
+    public long getFetched(int nodeId) {
+        Tier t = tiers.get(nodeId);
+        return t == null ? 0 : t.fetched();
+    }
+
+    public void recordFetch(int nodeId, int fingerprint, int clients, @Nullable byte[] body) {
+        if (body == null) {
+            recordFailure(nodeId);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        tiers.compute(nodeId, (id, old) -> {
+            if (old == null || old.fingerprint() != fingerprint) {
+                return new Tier(0, 0, fingerprint, run, now, clients);
+            }
+            int stable = old.stable() + 1;
+            if (stable >= promoteAfter && old.tier() < maxTier) {
+                return new Tier(old.tier() + 1, 0, fingerprint, run, now, clients);
+            }
+            return new Tier(old.tier(), stable, fingerprint, run, now, clients);
+        });
+        bodies.put(nodeId, body);
+    }
+
+    public void recordFailure(int nodeId) {
+        tiers.remove(nodeId);
+        bodies.remove(nodeId);
+    }
+
+    private record Tier(int tier, int stable, int fingerprint, long lastRun, long fetched, int clients) {
+    }
+}
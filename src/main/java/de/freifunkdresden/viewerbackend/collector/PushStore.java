@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.freifunkdresden.viewerbackend.Cache;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.archive.EntryType;
+import de.freifunkdresden.viewerbackend.archive.RunArchive;
+import de.freifunkdresden.viewerbackend.archive.RunArchiveReader;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Sysinfo pushed by nodes or relays, written by the ingest server and read by the collector at the start of a run
+public class PushStore {
+
+    private static final Logger LOGGER = LogManager.getLogger(PushStore.class);
+    private static final String STORE_NAME = "push";
+    private static final String PUSH_CACHE_FILE_NAME = "push.json";
+
+    private final Path file;
+    private final Path directory;
+    private final long maxAge;
+    private final Map<Integer, Long> received = new ConcurrentHashMap<>();
+    private final Map<Integer, byte[]> bodies = new ConcurrentHashMap<>();
+    private volatile boolean dirty = false;
+
+    public PushStore(@NotNull Path file, @NotNull Path directory, long maxAge) {
+        this.file = file;
+        this.directory = directory;
+        this.maxAge = maxAge;
+    }
+
+    @NotNull
+    public static PushStore create(@NotNull Config config, @NotNull Cache cache) {
+        Path file = cache.resolveCacheFile(PUSH_CACHE_FILE_NAME);
+        return new PushStore(file, file.getParent(),
+                TimeUnit.SECONDS.toMillis(config.getIntValue("ingest_max_age", 300)));
+    }
+
+    public void load() {
+        Path store = RunArchive.getPath(directory, STORE_NAME);
+        if (Files.notExists(file) || Files.notExists(store)) {
+            return;
+        }
+        try {
+            JsonObject json = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            json.entrySet().forEach(e -> received.put(Integer.parseInt(e.getKey()), e.getValue().getAsLong()));
+            bodies.putAll(RunArchiveReader.read(store).getAll(EntryType.SYSINFO));
+            received.keySet().retainAll(bodies.keySet());
+        } catch (RuntimeException | IOException e) {
+            LOGGER.log(Level.WARN, "Pushed sysinfo could not be loaded", e);
+            received.clear();
+            bodies.clear();
+        }
+    }
+
+    public void flush() {
+        if (dirty) {
+            save();
+        }
+    }
+
+    public synchronized void save() {
+        dirty = false;
+        prune(System.currentTimeMillis());
+        JsonObject json = new JsonObject();
+        String tmpName = STORE_NAME + ".new";
+        try (RunArchive store = RunArchive.create(directory, tmpName)) {
+            received.forEach((id, time) -> {
+                byte[] body = bodies.get(id);
+                if (body != null) {
+                    store.add(EntryType.SYSINFO, id, body);
+                    json.addProperty(String.valueOf(id), time);
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Push store could not be saved", e);
+            return;
+        }
+        // the collector process may read both files at any time, it must never see them half written
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".new");
+        try {
+            Files.writeString(tmpFile, json.toString(), StandardCharsets.UTF_8);
+            Files.move(RunArchive.getPath(directory, tmpName), RunArchive.getPath(directory, STORE_NAME),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Push store could not be saved", e);
+        }
+    }
+
+    public void put(int nodeId, long time, @NotNull byte[] body) {
+        bodies.put(nodeId, body);
+        received.put(nodeId, time);
+        dirty = true;
+    }
+
+    public boolean isRecent(int nodeId, long now) {
+        Long time = received.get(nodeId);
+        return time != null && now - time <= maxAge && bodies.containsKey(nodeId);
+    }
+
+    @Nullable
+    public byte[] getBody(int nodeId) {
+        return bodies.get(nodeId);
+    }
+
+    public long getReceived(int nodeId) {
+        return received.getOrDefault(nodeId, 0L);
+    }
+
+    public int size() {
+        return received.size();
+    }
+
+    private void prune(long now) {
+        received.entrySet().removeIf(e -> now - e.getValue() > maxAge);
+        bodies.keySet().retainAll(received.keySet());
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import de.freifunkdresden.viewerbackend.Node;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+public class ReachabilityProbe {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReachabilityProbe.class);
+
+    private final int port;
+    private final long timeout;
+    private final int maxPending;
+
+    public ReachabilityProbe(int port, long timeout, int maxPending) {
+        this.port = port;
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+    }
+
+    @NotNull
+    public Set<Node> probe(@NotNull Collection<Node> nodes) {
+        Set<Node> reachable = new HashSet<>();
+        Iterator<Node> waiting = nodes.iterator();
+        Deque<Pending> pending = new ArrayDeque<>();
+        try (Selector selector = Selector.open()) {
+            while (waiting.hasNext() || !pending.isEmpty()) {
+                while (waiting.hasNext() && pending.size() < maxPending) {
+                    Node node = waiting.next();
+                    if (startConnect(selector, node, pending)) {
+                        reachable.add(node);
+                    }
+                }
+                long wait = pending.isEmpty() ? 1 : Math.max(1, pending.peekFirst().started + timeout - System.currentTimeMillis());
+                selector.select(wait);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    Pending p = (Pending) key.attachment();
+                    if (finishConnect(key)) {
+                        reachable.add(p.node);
+                    }
+                    pending.remove(p);
+                }
+                selector.selectedKeys().clear();
+                expire(pending);
+            }
+        } catch (IOException e) {
+            // without a selector every node is handed to the fetch engine as before
+            LOGGER.log(Level.ERROR, "Reachability probe failed", e);
+            pending.forEach(p -> close(p.key));
+            reachable.addAll(nodes);
+        }
+        return reachable;
+    }
+
+    private boolean startConnect(@NotNull Selector selector, @NotNull Node node, @NotNull Deque<Pending> pending) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(new InetSocketAddress(node.getIpAddress(), port))) {
+                channel.close();
+                return true;
+            }
+            Pending p = new Pending(node, System.currentTimeMillis());
+            p.key = channel.register(selector, SelectionKey.OP_CONNECT, p);
+            pending.addLast(p);
+        } catch (IOException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Empty on purpose
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean finishConnect(@NotNull SelectionKey key) {
+        try {
+            return ((SocketChannel) key.channel()).finishConnect();
+        } catch (IOException e) {
+            return false;
+        } finally {
+            close(key);
+        }
+    }
+
+    private void expire(@NotNull Deque<Pending> pending) {
+        long now = System.currentTimeMillis();
+        while (!pending.isEmpty() && pending.peekFirst().started + timeout <= now) {
+            close(pending.pollFirst().key);
+        }
+    }
+
+    private static void close(SelectionKey key) {
+        if (key == null) {
+            return;
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // Empty on purpose
+        }
+    }
+
+    private static class Pending {
+        private final Node node;
+        private final long started;
+        private SelectionKey key;
+
+        private Pending(Node node, long started) {
+            this.node = node;
+            this.started = started;
+        }
+    }
+}
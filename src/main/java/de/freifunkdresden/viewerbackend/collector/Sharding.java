@@ -0,0 +1,271 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.freifunkdresden.viewerbackend.Cache;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.archive.EntryType;
+import de.freifunkdresden.viewerbackend.archive.RunArchive;
+import de.freifunkdresden.viewerbackend.archive.RunArchiveReader;
+import de.freifunkdresden.viewerbackend.exception.ArchiveException;
+import de.freifunkdresden.viewerbackend.exception.ConfigurationException;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Splits the node ids between several collector processes. Shard 0 is the regular run: it collects its own
+// part and merges the snapshots the other shards leave in the shared snapshot directory.
+public class Sharding {
+
+    private static final Logger LOGGER = LogManager.getLogger(Sharding.class);
+    private static final String SNAPSHOT_DIRECTORY_NAME = "shards";
+    private static final String RANGE_FILE_NAME = "range.json";
+    private static final byte CARRIED_FORWARD = 1;
+
+    private final int index;
+    private final int count;
+    private final Strategy strategy;
+    private final long maxAge;
+    private final long wait;
+    private final Path directory;
+    private final int[] bounds;
+
+    public Sharding(@NotNull Config config, @NotNull Cache cache, int index) {
+        this.count = Math.max(1, config.getIntValue("shard_count", 1));
+        this.index = index;
+        if (index < 0 || index >= count) {
+            throw new ConfigurationException(String.format("Shard %d is out of range (shard_count=%d)", index, count));
+        }
+        this.strategy = Strategy.getByConfigName(config.getValue("shard_strategy", Strategy.MODULO.configName));
+        this.maxAge = TimeUnit.SECONDS.toMillis(Math.max(0, config.getIntValue("shard_max_age", 30)));
+        this.wait = TimeUnit.SECONDS.toMillis(Math.max(0, config.getIntValue("shard_wait", 150)));
+        this.directory = cache.resolveCacheFile(SNAPSHOT_DIRECTORY_NAME);
+        this.bounds = strategy == Strategy.RANGE && isSharded() ? loadBounds() : null;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    public boolean isCoordinator() {
+        return index == 0;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @NotNull
+    public List<Node> filter(@NotNull Collection<Node> nodes) {
+        if (!isSharded()) {
+            return List.copyOf(nodes);
+        }
+        // no bounds saved yet: every shard splits the ids it sees itself
+        int[] b = bounds != null || strategy != Strategy.RANGE ? bounds : getBounds(nodes, count);
+        return nodes.stream().filter(n -> strategy.getShard(n.getId(), count, b) == index).toList();
+    }
+
+    // The ids are not spread evenly, most nodes have low ids. The coordinator splits the ids it saw into ranges
+    // with the same number of nodes, all shards of the next run use these bounds.
+    public void saveBounds(@NotNull Collection<Node> nodes) {
+        if (strategy != Strategy.RANGE || !isSharded() || !isCoordinator()) {
+            return;
+        }
+        JsonObject json = new JsonObject();
+        json.addProperty("count", count);
+        JsonArray array = new JsonArray();
+        for (int bound : getBounds(nodes, count)) {
+            array.add(bound);
+        }
+        json.add("bounds", array);
+        Path file = directory.resolve(RANGE_FILE_NAME);
+        Path tmpFile = directory.resolve(RANGE_FILE_NAME + ".new");
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(tmpFile, json.toString(), StandardCharsets.UTF_8);
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARN, "Shard ranges could not be saved", e);
+        }
+    }
+
+    @Nullable
+    private int[] loadBounds() {
+        Path file = directory.resolve(RANGE_FILE_NAME);
+        if (Files.notExists(file)) {
+            return null;
+        }
+        try {
+            JsonObject json = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            if (json.get("count").getAsInt() != count) {
+                return null;
+            }
+            JsonArray array = json.get("bounds").getAsJsonArray();
+            int[] loaded = new int[array.size()];
+            for (int i = 0; i < loaded.length; i++) {
+                loaded[i] = array.get(i).getAsInt();
+            }
+            return loaded;
+        } catch (RuntimeException | IOException e) {
+            LOGGER.log(Level.WARN, "Shard ranges could not be loaded", e);
+            return null;
+        }
+    }
+
+    // the first id of every shard but the first, so each range holds the same number of the given nodes
+    @NotNull
+    static int[] getBounds(@NotNull Collection<Node> nodes, int count) {
+        int[] ids = nodes.stream().mapToInt(Node::getId).distinct().sorted().toArray();
+        int[] b = new int[count - 1];
+        for (int i = 1; i < count; i++) {
+            b[i - 1] = ids.length == 0 ? Integer.MAX_VALUE : ids[(int) ((long) i * ids.length / count)];
+        }
+        return b;
+    }
+
+    @NotNull
+    public RunArchive createSnapshot() throws IOException {
+        return RunArchive.create(directory, getSnapshotName(index) + ".new");
+    }
+
+    // the sysinfo bodies are already in the snapshot, this adds the timestamps the coordinator can't know
+    public void publishSnapshot(@NotNull RunArchive snapshot, @NotNull Collection<Node> nodes) throws IOException {
+        nodes.stream().filter(Node::isOnline).forEach(n -> snapshot.add(EntryType.NODE_STATE, n.getId(),
+                ByteBuffer.allocate(9)
+                        .putLong(n.getSysInfoLastSeen())
+                        .put(n.isSysInfoCarriedForward() ? CARRIED_FORWARD : 0)
+                        .array()));
+        snapshot.close();
+        Files.move(snapshot.getPath(), RunArchive.getPath(directory, getSnapshotName(index)),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // waits for the snapshots of all other shards that were started around the same time as this run
+    @NotNull
+    public List<RunArchiveReader> awaitSnapshots(long runStart) throws InterruptedException {
+        List<RunArchiveReader> snapshots = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 1; i < count; i++) {
+            missing.add(i);
+        }
+        long deadline = System.currentTimeMillis() + wait;
+        while (true) {
+            missing.removeIf(i -> {
+                Path path = RunArchive.getPath(directory, getSnapshotName(i));
+                if (Files.notExists(path)) {
+                    return false;
+                }
+                try {
+                    RunArchiveReader snapshot = RunArchiveReader.read(path);
+                    if (snapshot.getCreated() < runStart - maxAge) {
+                        return false;
+                    }
+                    snapshots.add(snapshot);
+                    return true;
+                } catch (ArchiveException e) {
+                    LOGGER.log(Level.DEBUG, "Snapshot of shard {} is not readable yet", i, e);
+                    return false;
+                }
+            });
+            if (missing.isEmpty() || System.currentTimeMillis() >= deadline) {
+                break;
+            }
+            Thread.sleep(500);
+        }
+        if (!missing.isEmpty()) {
+            LOGGER.log(Level.WARN, "No current snapshot of shards {}", missing);
+        }
+        return snapshots;
+    }
+
+    public static void applyState(@NotNull Node node, @NotNull byte[] state) {
+        ByteBuffer buffer = ByteBuffer.wrap(state);
+        long lastSeen = buffer.getLong();
+        if (buffer.get() == CARRIED_FORWARD) {
+            node.carrySysInfoForward(lastSeen);
+        } else {
+            node.setSysInfoLastSeen(lastSeen);
+        }
+    }
+
+    @NotNull
+    private static String getSnapshotName(int index) {
+        return String.format("shard-%d", index);
+    }
+
+    public enum Strategy {
+        MODULO("modulo") {
+            @Override
+            int getShard(int nodeId, int count, @Nullable int[] bounds) {
+                return Math.floorMod(nodeId, count);
+            }
+        },
+        RANGE("range") {
+            @Override
+            int getShard(int nodeId, int count, @Nullable int[] bounds) {
+                int shard = 0;
+                while (shard < bounds.length && nodeId >= bounds[shard]) {
+                    shard++;
+                }
+                return shard;
+            }
+        };
+
+        private final String configName;
+
+        Strategy(String configName) {
+            this.configName = configName;
+        }
+
+        abstract int getShard(int nodeId, int count, @Nullable int[] bounds);
+
+        @NotNull
+        public static Strategy getByConfigName(@NotNull String name) {
+            for (Strategy strategy : values()) {
+                if (strategy.configName.equalsIgnoreCase(name)) {
+                    return strategy;
+                }
+            }
+            throw new ConfigurationException(String.format("Unknown shard strategy `%s`", name));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.Link;
+import de.freifunkdresden.viewerbackend.LinkType;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.config.VpnServerDirectory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+public class UpstreamLimiter {
+
+    public static final String UNKNOWN = "unknown";
+
+    private final Config config;
+    private final int defaultLimit;
+    private final Map<String, Semaphore> limits = new ConcurrentHashMap<>();
+
+    public UpstreamLimiter(@NotNull Config config) {
+        this.config = config;
+        this.defaultLimit = config.getIntValue("collector_upstream_limit", 16);
+    }
+
+    @Nullable
+    public Semaphore getLimit(@NotNull String upstream) {
+        if (upstream.equals(UNKNOWN)) {
+            return null;
+        }
+        return limits.computeIfAbsent(upstream, u ->
+                new Semaphore(Math.max(1, config.getIntValue("collector_upstream_limit." + u, defaultLimit))));
+    }
+
+    @NotNull
+    public static String getUpstream(@NotNull Node node, @NotNull VpnServerDirectory vpnServers) {
+        VpnServerDirectory.VpnServer vpn = vpnServers.getServerByNode(node.getId());
+        if (vpn != null) {
+            return "vpn:" + vpn.vpnId();
+        }
+        // backbone tunnels to a vpn server carry the traffic of a node, otherwise it is routed through its gateway
+        for (Link link : node.getLinks()) {
+            if (link.getType() == LinkType.TUNNEL && link.getTarget() != null) {
+                vpn = vpnServers.getServerByNode(link.getTarget().getId());
+                if (vpn != null) {
+                    return "vpn:" + vpn.vpnId();
+                }
+            }
+        }
+        Node gateway = node.getGateway();
+        if (gateway != null) {
+            return "gw:" + gateway.getId();
+        }
+        return UNKNOWN;
+    }
+}
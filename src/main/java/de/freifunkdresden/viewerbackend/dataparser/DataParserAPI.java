@@ -25,6 +25,7 @@
 package de.freifunkdresden.viewerbackend.dataparser;
 
 import com.google.gson.JsonObject;
+import de.freifunkdresden.viewerbackend.DataGen;
 import de.freifunkdresden.viewerbackend.Location;
 import org.jetbrains.annotations.NotNull;
 
@@ -34,8 +35,9 @@ public class DataParserAPI {
     private final JsonObject status;
 
     public DataParserAPI(@NotNull JsonObject node) {
-        this.node = node;
-        this.status = node.get("status").getAsJsonObject();
+        // kept for the whole run, share what it has in common with the other nodes
+        this.node = DataGen.getDedupPool().intern(node).getAsJsonObject();
+        this.status = this.node.get("status").getAsJsonObject();
     }
 
     public Location getLocation() {
@@ -40,6 +40,7 @@ public class DataParserDB {
 
     private static final Logger LOGGER = LogManager.getLogger(DataParserDB.class);
     private static final CommunityDirectory COMMUNITY_DIRECTORY = DataGen.getConfig().getCommunityDirectory();
+    private static final DedupPool POOL = DataGen.getDedupPool();
 
     private boolean autoUpdate;
     private CommunityDirectory.Community community = COMMUNITY_DIRECTORY.getDefaultCommunity();
@@ -71,12 +72,12 @@ public class DataParserDB {
             LOGGER.log(Level.ERROR, "DB_READ `email` failed", e);
         }
         try {
-            firmwareBase = rs.getString("firmware_base");
+            firmwareBase = POOL.intern(rs.getString("firmware_base"));
         } catch (SQLException e) {
             LOGGER.log(Level.ERROR, "DB_READ `firmware_base` failed", e);
         }
         try {
-            firmwareVersion = rs.getString("firmware_version");
+            firmwareVersion = POOL.intern(rs.getString("firmware_version"));
         } catch (SQLException e) {
             LOGGER.log(Level.ERROR, "DB_READ `firmware_version` failed", e);
         }
@@ -100,7 +101,7 @@ public class DataParserDB {
             LOGGER.log(Level.ERROR, "DB_READ location failed", e);
         }
         try {
-            model = rs.getString("model");
+            model = POOL.intern(rs.getString("model"));
         } catch (SQLException e) {
             LOGGER.log(Level.ERROR, "DB_READ `model` failed", e);
         }
@@ -29,7 +29,6 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import de.freifunkdresden.viewerbackend.Airtime;
 import de.freifunkdresden.viewerbackend.DataGen;
-import de.freifunkdresden.viewerbackend.Link;
 import de.freifunkdresden.viewerbackend.LinkType;
 import de.freifunkdresden.viewerbackend.Location;
 import de.freifunkdresden.viewerbackend.Node;
@@ -40,11 +39,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -58,8 +54,6 @@ public class DataParserSysInfo {
     protected CommunityDirectory.Community community;
     protected final AtomicInteger linkCountFastD = new AtomicInteger(0);
     protected final AtomicInteger linkCountWireGuard = new AtomicInteger(0);
-    protected Collection<Link> linkCollection = Collections.emptyList();
-    protected boolean linksProcessed = false;
 
     public DataParserSysInfo(@NotNull JsonObject data) {
         this.data = data;
@@ -79,11 +73,27 @@ public class DataParserSysInfo {
         }
     }
 
+    @NotNull
+    public NodeSnapshot toSnapshot() {
+        // targets that are no mesh address (convertIpToId gives -1) would become a phantom node
+        List<NodeSnapshot.LinkInfo> links = parseLinks().stream().filter(l -> l.target() >= 0).toList();
+        Optional<Airtime> airtime2g = getAirtime2g();
+        Optional<Airtime> airtime5g = getAirtime5g();
+        DedupPool pool = DataGen.getDedupPool();
+        return new NodeSnapshot(getNodeId(), lastSeen, false, community, getRole(), pool.intern(getModel()),
+                pool.intern(getFirmwareVersion()), pool.intern(getFirmwareBase()), pool.intern(getFirmwareTarget()),
+                pool.intern(getFirmwareBranch()), pool.intern(getFirmwareGitRev()), getGatewayId(),
+                getUptime(), getMemoryUsage(), getLoadAvg(), getCPUCount(), getClients(), getClients2g(),
+                getClients5g(), links, linkCountFastD.get(), linkCountWireGuard.get(), getName(), getEMail(),
+                getAutoUpdate(), getLocation(), airtime2g, airtime5g, getWifiChannel2g(airtime2g),
+                getWifiChannel5g(airtime5g), getTraffic());
+    }
+
     public long getLastSeen() {
         return lastSeen;
     }
 
-    int getNodeId() {
+    public int getNodeId() {
         return data.get("common").getAsJsonObject().get("node").getAsInt();
     }
 
@@ -129,44 +139,43 @@ public class DataParserSysInfo {
         return rev != null ? rev.getAsString() : null;
     }
 
-    public Node getGateway() {
+    public int getGatewayId() {
         String ip = data.get("bmxd").getAsJsonObject().get("gateways").getAsJsonObject().get("selected").getAsString();
-        return DataGen.getDataHolder().getNodeByIp(ip);
+        return Node.convertIpToId(ip);
     }
 
     public float getUptime() {
-        String jsonUptime = data.get("system").getAsJsonObject().get("uptime").getAsString();
-        String[] uptime = jsonUptime.split("\\s+");
-        if (jsonUptime.contains(":")) {
-            String array3 = uptime[3].replace(",", "");
-            if (array3.contains(":")) {
-                return parseMinutes(array3) * 60f;
+        return parseUptime(data.get("system").getAsJsonObject().get("uptime").getAsString());
+    }
+
+    public static float parseUptime(@NotNull String jsonUptime) {
+        FieldScanner uptime = new FieldScanner(jsonUptime);
+        if (jsonUptime.indexOf(':') >= 0) {
+            uptime.field(3).strip(',');
+            if (uptime.contains(':')) {
+                return uptime.toMinutes() * 60f;
             } else {
-                short days = Short.parseShort(array3);
-                int min;
-                String minutes = uptime[5].replace(",", "");
-                String time = uptime[6].replace(",", "");
-                if (minutes.isEmpty()) {
-                    min = parseMinutes(time);
-                } else {
-                    min = parseMinutes(minutes);
+                short days = uptime.toShort();
+                uptime.field(5).strip(',');
+                if (uptime.isEmpty()) {
+                    uptime.field(6).strip(',');
                 }
-                return min * 60f + days * 86400f;
+                return uptime.toMinutes() * 60f + days * 86400f;
             }
             //Ab v10
         } else {
-            return Float.parseFloat(uptime[0]);
+            return uptime.field(0).toFloat();
         }
     }
 
     public double getMemoryUsage() {
-        double memTotal = Integer.parseInt(stats.get("meminfo_MemTotal").getAsString().split(" ")[0]);
-        double memFree = Integer.parseInt(stats.get("meminfo_MemFree").getAsString().split(" ")[0]);
+        double memTotal = new FieldScanner(stats.get("meminfo_MemTotal").getAsString()).field(0, ' ').toInt();
+        double memFree = new FieldScanner(stats.get("meminfo_MemFree").getAsString()).field(0, ' ').toInt();
         return (memTotal - memFree) / memTotal;
     }
 
     public float getLoadAvg() {
-        return Float.parseFloat(stats.get("cpu_load").getAsString().split(" ")[1]);
+        return new FieldScanner(stats.get("cpu_load").getAsString()).field(1, ' ').toFloat();
     }
 
     public short getClients() {
@@ -184,19 +193,11 @@ public class DataParserSysInfo {
         return Optional.empty();
     }
 
-    public Collection<Link> getLinkSet() {
-        return linkCollection;
-    }
-
-    public void processLinks() {
-        if (linksProcessed) {
-            return;
-        }
-        Node node = DataGen.getDataHolder().getNode(getNodeId());
+    protected List<NodeSnapshot.LinkInfo> parseLinks() {
         JsonObject bmxd = data.get("bmxd").getAsJsonObject();
         JsonObject rt = bmxd.has("routing_tables") ? bmxd.get("routing_tables").getAsJsonObject() : bmxd.get("RoutingTables").getAsJsonObject();
         JsonArray linkArray = rt.get("route").getAsJsonObject().get("link").getAsJsonArray();
-        linkCollection = new ArrayList<>(linkArray.size());
+        List<NodeSnapshot.LinkInfo> links = new ArrayList<>(linkArray.size());
         linkArray.forEach(link -> {
             JsonObject l = link.getAsJsonObject();
             String linkInterface = l.get("interface").getAsString();
@@ -206,28 +207,19 @@ public class DataParserSysInfo {
                 linkCountWireGuard.incrementAndGet();
             }
             LinkType linkType = LinkType.getTypeByInterface(linkInterface);
-            Node target = DataGen.getDataHolder().getNodeByIp(l.get("target").getAsString());
-            linkCollection.add(new Link(linkType, target, node));
+            links.add(new NodeSnapshot.LinkInfo(Node.convertIpToId(l.get("target").getAsString()), linkType, (byte) 0));
         });
-        linksProcessed = true;
-    }
-
-    public int getLinkCountFastD() {
-        return linkCountFastD.get();
-    }
-
-    public int getLinkCountWireGuard() {
-        return linkCountWireGuard.get();
+        return links;
     }
 
     public String getName() {
         String name = data.get("contact").getAsJsonObject().get("name").getAsString();
-        return URLDecoder.decode(name, StandardCharsets.UTF_8);
+        return DataGen.getDedupPool().decode(name);
     }
 
     public String getEMail() {
         String email = data.get("contact").getAsJsonObject().get("email").getAsString();
-        return URLDecoder.decode(email, StandardCharsets.UTF_8);
+        return DataGen.getDedupPool().decode(email);
     }
 
     public boolean getAutoUpdate() {
@@ -264,10 +256,10 @@ public class DataParserSysInfo {
         return new TrafficInfoEmpty();
     }
 
-    public Optional<Integer> getWifiChannel2g() {
+    public Optional<Integer> getWifiChannel2g(Optional<Airtime> airtime2g) {
         switch (getRole()) {
             case STANDARD, MOBILE -> {
-                if (getAirtime2g().isPresent()) {
+                if (airtime2g.isPresent()) {
                     return Optional.of(13);
                 } else {
                     return Optional.empty();
@@ -279,10 +271,10 @@ public class DataParserSysInfo {
         }
     }
 
-    public Optional<Integer> getWifiChannel5g() {
+    public Optional<Integer> getWifiChannel5g(Optional<Airtime> airtime5g) {
         switch (getRole()) {
             case STANDARD, MOBILE -> {
-                if (getAirtime5g().isPresent()) {
+                if (airtime5g.isPresent()) {
                     return Optional.of(44);
                 } else {
                     return Optional.empty();
@@ -294,14 +286,6 @@ public class DataParserSysInfo {
         }
     }
 
-    private static int parseMinutes(@NotNull String time) {
-        if (time.contains(":")) {
-            return Integer.parseInt(time.split(":")[0]) * 60 + Integer.parseInt(time.split(":")[1]);
-        } else {
-            return Integer.parseInt(time);
-        }
-    }
-
     private Optional<Airtime> getAirtime(String radio) {
         JsonElement airtime = data.get("airtime");
         if (airtime != null && airtime.getAsJsonObject().has(radio)) {
@@ -314,14 +298,14 @@ public class DataParserSysInfo {
     }
 
     private Optional<Airtime> parseAirtime(@NotNull String airtime) {
-        String[] split = airtime.split(",");
-        if (split.length != 4) {
+        FieldScanner scanner = new FieldScanner(airtime);
+        if (scanner.count(',') != 4) {
             LOGGER.log(Level.WARN, "Malformed airtime string (Node: {})", getNodeId());
             return Optional.empty();
         }
         try {
-            return Optional.of(new Airtime(Long.parseLong(split[0]), Long.parseLong(split[1]), Long.parseLong(split[2]),
-                    Long.parseLong(split[3])));
+            return Optional.of(new Airtime(scanner.field(0, ',').toLong(), scanner.field(1, ',').toLong(),
+                    scanner.field(2, ',').toLong(), scanner.field(3, ',').toLong()));
         } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
             LOGGER.log(Level.ERROR, String.format("Airtime format (Node: %d)", getNodeId()), e);
             return Optional.empty();
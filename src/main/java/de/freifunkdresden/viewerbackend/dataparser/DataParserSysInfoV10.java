@@ -25,9 +25,8 @@
 package de.freifunkdresden.viewerbackend.dataparser;
 
 import com.google.gson.JsonObject;
-import de.freifunkdresden.viewerbackend.DataGen;
-import de.freifunkdresden.viewerbackend.Link;
-import de.freifunkdresden.viewerbackend.Node;
+
+import java.util.List;
 
 public class DataParserSysInfoV10 extends DataParserSysInfo {
 
@@ -38,27 +37,24 @@ public class DataParserSysInfoV10 extends DataParserSysInfo {
     @Override
     public float getUptime() {
         String jsonUptime = data.get("system").getAsJsonObject().get("uptime").getAsString();
-        String[] uptime = jsonUptime.split("\\s+");
-        return Float.parseFloat(uptime[0]);
+        return new FieldScanner(jsonUptime).field(0).toFloat();
     }
 
     @Override
-    public void processLinks() {
-        if (linksProcessed) {
-            return;
-        }
-        super.processLinks();
+    protected List<NodeSnapshot.LinkInfo> parseLinks() {
+        List<NodeSnapshot.LinkInfo> links = super.parseLinks();
         data.get("bmxd").getAsJsonObject().get("links").getAsJsonArray().forEach(link -> {
             JsonObject l = link.getAsJsonObject();
-            Node target = DataGen.getDataHolder().getNode(l.get("node").getAsInt());
+            int target = l.get("node").getAsInt();
             byte tq = Byte.parseByte(l.get("tq").getAsString());
-            for (Link lnk : linkCollection) {
-                if (lnk.getTarget().equals(target)) {
-                    lnk.setSourceTq(tq);
+            for (int i = 0; i < links.size(); i++) {
+                NodeSnapshot.LinkInfo lnk = links.get(i);
+                if (lnk.target() == target) {
+                    links.set(i, new NodeSnapshot.LinkInfo(target, lnk.type(), tq));
                     return;
                 }
             }
         });
-        linksProcessed = true;
+        return links;
     }
 }
@@ -26,12 +26,10 @@ package de.freifunkdresden.viewerbackend.dataparser;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import de.freifunkdresden.viewerbackend.DataGen;
-import de.freifunkdresden.viewerbackend.Link;
 import de.freifunkdresden.viewerbackend.LinkType;
-import de.freifunkdresden.viewerbackend.Node;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class DataParserSysInfoV11 extends DataParserSysInfoV10 {
 
@@ -40,16 +38,11 @@ public class DataParserSysInfoV11 extends DataParserSysInfoV10 {
     }
 
     @Override
-    public void processLinks() {
-        if (linksProcessed) {
-            return;
-        }
-        Node node = DataGen.getDataHolder().getNode(getNodeId());
+    protected List<NodeSnapshot.LinkInfo> parseLinks() {
         JsonArray links = data.get("bmxd").getAsJsonObject().get("links").getAsJsonArray();
-        linkCollection = new ArrayList<>(links.size());
+        List<NodeSnapshot.LinkInfo> linkInfos = new ArrayList<>(links.size());
         links.forEach(link -> {
             JsonObject l = link.getAsJsonObject();
-            Node target = DataGen.getDataHolder().getNode(l.get("node").getAsInt());
             byte tq = Byte.parseByte(l.get("tq").getAsString());
             String linkInterface = l.get("interface").getAsString();
             if (linkInterface.startsWith("tbb_fastd")) {
@@ -58,8 +51,8 @@ public class DataParserSysInfoV11 extends DataParserSysInfoV10 {
                 linkCountWireGuard.incrementAndGet();
             }
             LinkType linkType = LinkType.getTypeFromLink(l);
-            linkCollection.add(new Link(linkType, tq, target, node));
+            linkInfos.add(new NodeSnapshot.LinkInfo(l.get("node").getAsInt(), linkType, tq));
         });
-        linksProcessed = true;
+        return linkInfos;
     }
 }
@@ -26,6 +26,7 @@ package de.freifunkdresden.viewerbackend.dataparser;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import de.freifunkdresden.viewerbackend.Airtime;
 import de.freifunkdresden.viewerbackend.DataGen;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
@@ -74,7 +75,7 @@ public class DataParserSysInfoV17 extends DataParserSysInfoV16 {
     }
 
     @Override
-    public Optional<Integer> getWifiChannel2g() {
+    public Optional<Integer> getWifiChannel2g(Optional<Airtime> airtime2g) {
         JsonElement wifiChannel2g = data.get("system").getAsJsonObject().get("wifi_2g_channel");
         if (wifiChannel2g != null) {
             try {
@@ -87,7 +88,7 @@ public class DataParserSysInfoV17 extends DataParserSysInfoV16 {
     }
 
     @Override
-    public Optional<Integer> getWifiChannel5g() {
+    public Optional<Integer> getWifiChannel5g(Optional<Airtime> airtime5g) {
         JsonElement wifiChannel5g = data.get("system").getAsJsonObject().get("wifi_5g_channel");
         if (wifiChannel5g != null) {
             try {
@@ -0,0 +1,208 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.dataparser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Canonical instances of the strings and json subtrees that many nodes share (models, firmware versions,
+// branches, ...), kept for one run. Saved bytes are estimated from the shallow size of the dropped copies.
+public class DedupPool {
+
+    private static final int STRING_SIZE = 24;
+    private static final int ARRAY_HEADER = 16;
+    private static final int OBJECT_SIZE = 16;
+    private static final int MAP_SIZE = 48;
+    private static final int MAP_ENTRY_SIZE = 40;
+    private static final int LIST_SIZE = 24;
+    private static final int REFERENCE_SIZE = 4;
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<String, String> decoded = new ConcurrentHashMap<>();
+    private final Map<String, JsonPrimitive> primitives = new ConcurrentHashMap<>();
+    private final Map<Subtree, JsonElement> subtrees = new ConcurrentHashMap<>();
+    private final LongAdder saved = new LongAdder();
+
+    @Contract("null -> null; !null -> !null")
+    public String intern(@Nullable String s) {
+        if (s == null) {
+            return null;
+        }
+        String canonical = strings.putIfAbsent(s, s);
+        if (canonical == null) {
+            return s;
+        }
+        if (canonical != s) {
+            saved.add(sizeOf(s));
+        }
+        return canonical;
+    }
+
+    // URL decoding of names and emails, cached by the raw value
+    @Contract("null -> null; !null -> !null")
+    public String decode(@Nullable String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String value = decoded.get(raw);
+        if (value == null) {
+            value = decoded.computeIfAbsent(raw, r -> intern(URLDecoder.decode(r, StandardCharsets.UTF_8)));
+        } else {
+            saved.add(sizeOf(value));
+        }
+        return value;
+    }
+
+    // Returns an equal tree that shares every subtree already seen in this run, the result must not be modified.
+    @NotNull
+    public JsonElement intern(@NotNull JsonElement element) {
+        if (element.isJsonPrimitive()) {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            // keyed by the json text: numbers of different notation are equal for JsonPrimitive but print differently
+            String key = primitive.toString();
+            JsonPrimitive canonical = primitives.get(key);
+            if (canonical == null) {
+                JsonPrimitive candidate = primitive.isString()
+                        ? new JsonPrimitive(intern(primitive.getAsString())) : primitive;
+                canonical = primitives.putIfAbsent(key, candidate);
+                if (canonical == null) {
+                    return candidate;
+                }
+            }
+            if (canonical != primitive) {
+                saved.add(OBJECT_SIZE);
+            }
+            return canonical;
+        }
+        if (element.isJsonObject()) {
+            JsonObject object = new JsonObject();
+            element.getAsJsonObject().entrySet().forEach(e -> object.add(intern(e.getKey()), intern(e.getValue())));
+            return share(object, OBJECT_SIZE + MAP_SIZE + object.size() * MAP_ENTRY_SIZE);
+        }
+        if (element.isJsonArray()) {
+            JsonArray array = new JsonArray();
+            element.getAsJsonArray().forEach(e -> array.add(intern(e)));
+            return share(array, OBJECT_SIZE + LIST_SIZE + align(ARRAY_HEADER + array.size() * REFERENCE_SIZE));
+        }
+        return element;
+    }
+
+    @NotNull
+    private JsonElement share(@NotNull JsonElement element, long size) {
+        JsonElement canonical = subtrees.putIfAbsent(new Subtree(element), element);
+        if (canonical == null) {
+            return element;
+        }
+        saved.add(size);
+        return canonical;
+    }
+
+    public int size() {
+        return strings.size() + subtrees.size();
+    }
+
+    public long getSavedBytes() {
+        return saved.sum();
+    }
+
+    public void clear() {
+        strings.clear();
+        decoded.clear();
+        primitives.clear();
+        subtrees.clear();
+        saved.reset();
+    }
+
+    private static long sizeOf(@NotNull String s) {
+        boolean latin1 = s.chars().allMatch(c -> c < 256);
+        return STRING_SIZE + align(ARRAY_HEADER + (long) s.length() * (latin1 ? 1 : 2));
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    // Equality of a tree whose children are canonical: same keys and the very same child instances
+    private record Subtree(JsonElement element) {
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Subtree other)) return false;
+            if (element.isJsonObject() && other.element.isJsonObject()) {
+                var a = element.getAsJsonObject().entrySet().iterator();
+                var b = other.element.getAsJsonObject().entrySet().iterator();
+                while (a.hasNext() && b.hasNext()) {
+                    var x = a.next();
+                    var y = b.next();
+                    if (!x.getKey().equals(y.getKey()) || x.getValue() != y.getValue()) {
+                        return false;
+                    }
+                }
+                return !a.hasNext() && !b.hasNext();
+            }
+            if (element.isJsonArray() && other.element.isJsonArray()) {
+                JsonArray a = element.getAsJsonArray();
+                JsonArray b = other.element.getAsJsonArray();
+                if (a.size() != b.size()) {
+                    return false;
+                }
+                for (int i = 0; i < a.size(); i++) {
+                    if (a.get(i) != b.get(i)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = element.isJsonObject() ? 1 : 2;
+            if (element.isJsonObject()) {
+                for (var e : element.getAsJsonObject().entrySet()) {
+                    hash = 31 * hash + (e.getKey().hashCode() ^ System.identityHashCode(e.getValue()));
+                }
+            } else {
+                for (JsonElement e : element.getAsJsonArray()) {
+                    hash = 31 * hash + System.identityHashCode(e);
+                }
+            }
+            return hash;
+        }
+    }
+}
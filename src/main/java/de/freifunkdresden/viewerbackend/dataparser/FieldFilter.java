@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.dataparser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Tree of dotted field paths, a path ending in `*` matches every field with that prefix.
+// Arrays are transparent: the filter of an array applies to each of its elements.
+public final class FieldFilter {
+
+    public static final FieldFilter ALL = new FieldFilter(true);
+
+    private final Map<String, FieldFilter> fields = new HashMap<>();
+    private final List<String> prefixes = new ArrayList<>();
+    private boolean all;
+
+    private FieldFilter(boolean all) {
+        this.all = all;
+    }
+
+    @NotNull
+    public static FieldFilter of(@NotNull String... paths) {
+        FieldFilter filter = new FieldFilter(false);
+        for (String path : paths) {
+            filter.add(path);
+        }
+        return filter;
+    }
+
+    private void add(@NotNull String path) {
+        FieldFilter filter = this;
+        for (String name : path.split("\\.")) {
+            if (filter.all) {
+                return;
+            }
+            if (name.endsWith("*")) {
+                filter.prefixes.add(name.substring(0, name.length() - 1));
+                return;
+            }
+            filter = filter.fields.computeIfAbsent(name, n -> new FieldFilter(false));
+        }
+        filter.all = true;
+        filter.fields.clear();
+        filter.prefixes.clear();
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    @Nullable
+    public FieldFilter get(@NotNull String name) {
+        if (all) {
+            return ALL;
+        }
+        FieldFilter filter = fields.get(name);
+        if (filter != null) {
+            return filter;
+        }
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) {
+                return ALL;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.dataparser;
+
+import org.jetbrains.annotations.NotNull;
+
+// Reads numbers out of the free text fields of sysinfo (uptime output, meminfo, cpu load, airtime) in place.
+// Fields are selected like String.split selects them and converted with the same results as the parseXxx
+// methods of the boxed types, without creating the intermediate arrays and strings.
+public final class FieldScanner {
+
+    private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final CharSequence text;
+    private int start;
+    private int end;
+
+    public FieldScanner(@NotNull CharSequence text) {
+        this.text = text;
+        this.end = text.length();
+    }
+
+    // like String.split("\\s+")[index]
+    @NotNull
+    public FieldScanner field(int index) {
+        return select(index, ' ', true);
+    }
+
+    // like String.split(String.valueOf(separator))[index]
+    @NotNull
+    public FieldScanner field(int index, char separator) {
+        return select(index, separator, false);
+    }
+
+    // like String.split(String.valueOf(separator)).length
+    public int count(char separator) {
+        int last = trailing(separator, false);
+        if (text.isEmpty()) {
+            return 1;
+        }
+        if (last == 0) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = 0; i < last; i++) {
+            if (text.charAt(i) == separator) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @NotNull
+    public FieldScanner strip(char c) {
+        while (start < end && text.charAt(start) == c) {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == c) {
+            end--;
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    public boolean contains(char c) {
+        return indexOf(c, start) >= 0;
+    }
+
+    public short toShort() {
+        int value = toInt();
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw new NumberFormatException(String.format("Value out of range. Value:\"%s\"", this));
+        }
+        return (short) value;
+    }
+
+    public int toInt() {
+        return Integer.parseInt(text, start, end, 10);
+    }
+
+    public long toLong() {
+        return Long.parseLong(text, start, end, 10);
+    }
+
+    // `h:mm` or plain minutes
+    public int toMinutes() {
+        int colon = indexOf(':', start);
+        if (colon < 0) {
+            return toInt();
+        }
+        int next = indexOf(':', colon + 1);
+        return Integer.parseInt(text, start, colon, 10) * 60
+                + Integer.parseInt(text, colon + 1, next >= 0 ? next : end, 10);
+    }
+
+    public float toFloat() {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fraction >= 0) {
+                    fraction++;
+                }
+            } else if (c == '.' && fraction < 0) {
+                fraction = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == end && digits > 0 && digits <= 15) {
+            double value = mantissa / POW10[Math.max(0, fraction)];
+            // mantissa and the power of ten are exact, so the division is the correctly rounded double. Rounding
+            // that to float only differs from a direct conversion if the double lies exactly between two floats.
+            double abs = Math.abs(value);
+            if (value == 0) {
+                return negative ? -0f : 0f;
+            }
+            if (abs >= Float.MIN_NORMAL && abs <= Float.MAX_VALUE
+                    && (Double.doubleToRawLongBits(value) & 0x1FFFFFFFL) != 0x10000000L) {
+                return (float) (negative ? -value : value);
+            }
+        }
+        return Float.parseFloat(toString());
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return text.subSequence(start, end).toString();
+    }
+
+    @NotNull
+    private FieldScanner select(int index, char separator, boolean whitespace) {
+        // String.split drops trailing empty fields
+        int last = trailing(separator, whitespace);
+        int pos = 0;
+        for (int i = 0; i < index; i++) {
+            while (pos < last && !isSeparator(text.charAt(pos), separator, whitespace)) {
+                pos++;
+            }
+            if (pos >= last) {
+                throw new ArrayIndexOutOfBoundsException(index);
+            }
+            pos++;
+            while (whitespace && pos < last && isSeparator(text.charAt(pos), separator, true)) {
+                pos++;
+            }
+        }
+        if (pos >= last && !text.isEmpty()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        int fieldEnd = pos;
+        while (fieldEnd < last && !isSeparator(text.charAt(fieldEnd), separator, whitespace)) {
+            fieldEnd++;
+        }
+        start = pos;
+        end = fieldEnd;
+        return this;
+    }
+
+    private int trailing(char separator, boolean whitespace) {
+        int last = text.length();
+        while (last > 0 && isSeparator(text.charAt(last - 1), separator, whitespace)) {
+            last--;
+        }
+        return last;
+    }
+
+    private int indexOf(char c, int from) {
+        for (int i = from; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSeparator(char c, char separator, boolean whitespace) {
+        if (whitespace) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+        }
+        return c == separator;
+    }
+}
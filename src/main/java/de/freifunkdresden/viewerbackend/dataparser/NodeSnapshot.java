@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.dataparser;
+
+import de.freifunkdresden.viewerbackend.Airtime;
+import de.freifunkdresden.viewerbackend.LinkType;
+import de.freifunkdresden.viewerbackend.Location;
+import de.freifunkdresden.viewerbackend.NodeType;
+import de.freifunkdresden.viewerbackend.config.CommunityDirectory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Optional;
+
+// All values of a sysinfo response, parsed once so the json tree can be dropped right after the fetch
+public record NodeSnapshot(int nodeId, long lastSeen, boolean carriedForward, CommunityDirectory.Community community,
+                           NodeType role, String model, String firmwareVersion, String firmwareBase,
+                           String firmwareTarget, String firmwareBranch, String firmwareGitRev, int gatewayId,
+                           float uptime, double memoryUsage, float loadAvg, int cpuCount, short clients,
+                           Optional<Short> clients2g, Optional<Short> clients5g, List<LinkInfo> links,
+                           int linkCountFastD, int linkCountWireGuard, String name, String email,
+                           boolean autoUpdate, Location location, Optional<Airtime> airtime2g,
+                           Optional<Airtime> airtime5g, Optional<Integer> wifiChannel2g,
+                           Optional<Integer> wifiChannel5g, TrafficInfo traffic) {
+
+    public long getAge() {
+        return System.currentTimeMillis() - lastSeen;
+    }
+
+    @NotNull
+    public NodeSnapshot withLastSeen(long lastSeen, boolean carriedForward) {
+        return new NodeSnapshot(nodeId, lastSeen, carriedForward, community, role, model, firmwareVersion,
+                firmwareBase, firmwareTarget, firmwareBranch, firmwareGitRev, gatewayId, uptime, memoryUsage, loadAvg,
+                cpuCount, clients, clients2g, clients5g, links, linkCountFastD, linkCountWireGuard, name, email,
+                autoUpdate, location, airtime2g, airtime5g, wifiChannel2g, wifiChannel5g, traffic);
+    }
+
+    public record LinkInfo(int target, LinkType type, byte tq) {
+    }
+}
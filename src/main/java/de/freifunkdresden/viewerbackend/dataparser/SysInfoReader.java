@@ -0,0 +1,222 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.dataparser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Streams a sysinfo document and only builds the parts of `data` the parser of its version reads,
+// everything else (bmxd originators and routing tables, unused statistics, ...) is skipped in the reader.
+public final class SysInfoReader {
+
+    private static final String[] BASE = {
+            "common.city", "common.node",
+            "system.model", "system.uptime", "system.cpucount",
+            "firmware.version", "firmware.DISTRIB_ID", "firmware.DISTRIB_RELEASE", "firmware.DISTRIB_REVISION",
+            "firmware.DISTRIB_TARGET", "firmware.git-ddmesh-branch", "firmware.git-ddmesh-rev",
+            "bmxd.gateways.selected",
+            "contact.name", "contact.email",
+            "gps.latitude", "gps.longitude",
+            "airtime.radio2g", "airtime.radio5g",
+            "statistic.meminfo_MemTotal", "statistic.meminfo_MemFree", "statistic.cpu_load",
+            "statistic.accepted_user_count",
+            "statistics.meminfo_MemTotal", "statistics.meminfo_MemFree", "statistics.cpu_load",
+            "statistics.accepted_user_count",
+    };
+    private static final String[] ROUTING_TABLES = {
+            "bmxd.routing_tables.route.link.target", "bmxd.routing_tables.route.link.interface",
+            "bmxd.RoutingTables.route.link.target", "bmxd.RoutingTables.route.link.interface",
+    };
+    private static final String[] V10 = {"bmxd.links.node", "bmxd.links.tq"};
+    private static final String[] V11 = {"bmxd.links.node", "bmxd.links.tq", "bmxd.links.interface", "bmxd.links.type"};
+    private static final String[] V13 = {"system.node_type"};
+    private static final String[] V14 = {"system.model2", "system.autoupdate"};
+    private static final String[] V15 = {"statistic.clients", "statistic.traffic_*"};
+    private static final String[] V16 = {"statistic.client2g.5min", "statistic.client5g.5min"};
+    private static final String[] V17 = {"common.community", "system.wifi_2g_channel", "system.wifi_5g_channel",
+            "statistic.interfaces"};
+    private static final String[] V18 = {"statistic.network"};
+
+    private static final FieldFilter FIELDS_V9 = filter(BASE, ROUTING_TABLES);
+    private static final FieldFilter FIELDS_V10 = filter(BASE, ROUTING_TABLES, V10);
+    private static final FieldFilter FIELDS_V11 = filter(BASE, V11);
+    private static final FieldFilter FIELDS_V13 = filter(BASE, V11, V13);
+    private static final FieldFilter FIELDS_V14 = filter(BASE, V11, V13, V14);
+    private static final FieldFilter FIELDS_V15 = filter(BASE, V11, V13, V14, V15);
+    private static final FieldFilter FIELDS_V16 = filter(BASE, V11, V13, V14, V15, V16);
+    private static final FieldFilter FIELDS_V17 = filter(BASE, V11, V13, V14, V15, V16, V17);
+    private static final FieldFilter FIELDS_V18 = filter(BASE, V11, V13, V14, V15, V16, V17, V18);
+    // used when `data` comes before `version`
+    private static final FieldFilter FIELDS_ANY = filter(BASE, ROUTING_TABLES, V11, V13, V14, V15, V16, V17, V18);
+
+    private SysInfoReader() {
+    }
+
+    @NotNull
+    private static FieldFilter filter(@NotNull String[]... groups) {
+        List<String> paths = new ArrayList<>();
+        for (String[] group : groups) {
+            paths.addAll(Arrays.asList(group));
+        }
+        return FieldFilter.of(paths.toArray(String[]::new));
+    }
+
+    @NotNull
+    public static FieldFilter getFields(int version) {
+        if (version >= 18) {
+            return FIELDS_V18;
+        } else if (version == 17) {
+            return FIELDS_V17;
+        } else if (version == 16) {
+            return FIELDS_V16;
+        } else if (version == 15) {
+            return FIELDS_V15;
+        } else if (version == 14) {
+            return FIELDS_V14;
+        } else if (version == 13) {
+            return FIELDS_V13;
+        } else if (version >= 11) {
+            return FIELDS_V11;
+        } else if (version == 10) {
+            return FIELDS_V10;
+        } else {
+            return FIELDS_V9;
+        }
+    }
+
+    // Same contract as JsonParser.parseString: JsonNull for an empty document, JsonSyntaxException for
+    // malformed or truncated input and content after the document, JsonIOException if reading fails.
+    @NotNull
+    public static JsonElement read(@NotNull JsonReader in) {
+        in.setStrictness(Strictness.LENIENT);
+        try {
+            try {
+                in.peek();
+            } catch (EOFException e) {
+                return JsonNull.INSTANCE;
+            }
+            JsonElement document = in.peek() == JsonToken.BEGIN_OBJECT ? readSysInfo(in) : JsonParser.parseReader(in);
+            if (in.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            return document;
+        } catch (EOFException | MalformedJsonException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    @NotNull
+    private static JsonObject readSysInfo(@NotNull JsonReader in) throws IOException {
+        JsonObject sysInfo = new JsonObject();
+        Integer version = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "version" -> {
+                    JsonElement v = JsonParser.parseReader(in);
+                    sysInfo.add(name, v);
+                    version = getVersion(v);
+                }
+                case "data" -> sysInfo.add(name, read(in, version != null ? getFields(version) : FIELDS_ANY));
+                default -> {
+                    // keep the key, a document without version and data is malformed and not empty
+                    in.skipValue();
+                    sysInfo.add(name, JsonNull.INSTANCE);
+                }
+            }
+        }
+        in.endObject();
+        return sysInfo;
+    }
+
+    @NotNull
+    private static JsonElement read(@NotNull JsonReader in, @NotNull FieldFilter filter) throws IOException {
+        if (filter.isAll()) {
+            return JsonParser.parseReader(in);
+        }
+        switch (in.peek()) {
+            case BEGIN_OBJECT -> {
+                JsonObject object = new JsonObject();
+                in.beginObject();
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    FieldFilter field = filter.get(name);
+                    if (field != null) {
+                        object.add(name, read(in, field));
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endObject();
+                return object;
+            }
+            case BEGIN_ARRAY -> {
+                JsonArray array = new JsonArray();
+                in.beginArray();
+                while (in.hasNext()) {
+                    array.add(read(in, filter));
+                }
+                in.endArray();
+                return array;
+            }
+            default -> {
+                return JsonParser.parseReader(in);
+            }
+        }
+    }
+
+    @Nullable
+    private static Integer getVersion(@NotNull JsonElement version) {
+        if (version instanceof JsonPrimitive p) {
+            try {
+                return p.getAsInt();
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
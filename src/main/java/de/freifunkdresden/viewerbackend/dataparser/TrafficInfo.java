@@ -29,37 +29,63 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
-import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
 
 public abstract class TrafficInfo {
 
-    protected final Map<Interface, Long> trafficIn = new EnumMap<>(Interface.class);
-    protected final Map<Interface, Long> trafficOut = new EnumMap<>(Interface.class);
+    protected static final Interface[] INTERFACES = Interface.values();
+
+    protected final long[] trafficIn = new long[INTERFACES.length];
+    protected final long[] trafficOut = new long[INTERFACES.length];
+    // bit per interface ordinal, set when the interface reported input or output
+    protected int present;
 
     public abstract void readValues(JsonObject json);
 
+    protected void addInput(@NotNull Interface i, long value) {
+        trafficIn[i.ordinal()] += value;
+        present |= 1 << i.ordinal();
+    }
+
+    protected void addOutput(@NotNull Interface i, long value) {
+        trafficOut[i.ordinal()] += value;
+        present |= 1 << i.ordinal();
+    }
+
     public boolean isEmpty() {
-        return trafficIn.isEmpty() && trafficOut.isEmpty();
+        return present == 0;
     }
 
     public boolean hasInterface(Interface i) {
-        return trafficIn.containsKey(i) || trafficOut.containsKey(i);
+        return (present & (1 << i.ordinal())) != 0;
     }
 
     public long getInput(Interface i) {
-        return trafficIn.getOrDefault(i, 0L);
+        return trafficIn[i.ordinal()];
     }
 
     public long getOutput(Interface i) {
-        return trafficOut.getOrDefault(i, 0L);
+        return trafficOut[i.ordinal()];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TrafficInfo that = (TrafficInfo) o;
+        return present == that.present && Arrays.equals(trafficIn, that.trafficIn)
+                && Arrays.equals(trafficOut, that.trafficOut);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * present + Arrays.hashCode(trafficIn)) + Arrays.hashCode(trafficOut);
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (Interface i : Interface.values()) {
+        for (Interface i : INTERFACES) {
             if (hasInterface(i)) {
                 sb.append(String.format("%s: %d<>%d%n", i.name(), getInput(i), getOutput(i)));
             }
@@ -126,12 +152,33 @@ public abstract class TrafficInfo {
         private final NetworkInfoType networkInfoType;
         private final String networkName;
         private final List<String> interfaceNames;
+        // lookup keys of each sysinfo version, built once instead of for every node
+        private final String[] trafficKeysPre17;
+        private final String[] interfaceInKeys;
+        private final String[] interfaceOutKeys;
+        private final String networkInKey;
+        private final String networkOutKey;
 
         Interface(@NotNull String[] interfaceNamePre17, @NotNull NetworkInfoType networkType, @Nullable String networkName, @NotNull String... interfaceNames) {
             this.interfaceNamePre17 = Arrays.asList(interfaceNamePre17);
             this.networkInfoType = networkType;
             this.networkName = networkName;
             this.interfaceNames = Arrays.asList(interfaceNames);
+            this.trafficKeysPre17 = Arrays.stream(interfaceNamePre17).map(n -> "traffic_" + n).toArray(String[]::new);
+            // the counters are named from the view of the interface: what it transmits is input for the node
+            this.interfaceInKeys = Arrays.stream(interfaceNames).map(n -> n + "_tx").toArray(String[]::new);
+            this.interfaceOutKeys = Arrays.stream(interfaceNames).map(n -> n + "_rx").toArray(String[]::new);
+            if (networkName == null || networkType == NetworkInfoType.NO_NETWORK) {
+                this.networkInKey = null;
+                this.networkOutKey = null;
+            } else if (networkName.equals("vpn")) {
+                // New vpn network values are the wrong way
+                this.networkInKey = networkName + "_rx";
+                this.networkOutKey = networkName + "_tx";
+            } else {
+                this.networkInKey = networkName + "_tx";
+                this.networkOutKey = networkName + "_rx";
+            }
         }
 
         public @NotNull List<String> getInterfaceNamePre17() {
@@ -154,6 +201,26 @@ public abstract class TrafficInfo {
             return interfaceNames;
         }
 
+        @NotNull String[] getTrafficKeysPre17() {
+            return trafficKeysPre17;
+        }
+
+        @NotNull String[] getInterfaceInKeys() {
+            return interfaceInKeys;
+        }
+
+        @NotNull String[] getInterfaceOutKeys() {
+            return interfaceOutKeys;
+        }
+
+        @Nullable String getNetworkInKey() {
+            return networkInKey;
+        }
+
+        @Nullable String getNetworkOutKey() {
+            return networkOutKey;
+        }
+
         public enum NetworkInfoType {
             NO_NETWORK,
             BASIC,
@@ -29,31 +29,48 @@ import com.google.gson.JsonObject;
 
 public class TrafficInfoV15 extends TrafficInfo {
 
+    // traffic_<out>_<in> keys of every interface pair, indexed by the ordinals of out and in
+    private static final String[][][] PAIR_KEYS = new String[INTERFACES.length][INTERFACES.length][];
+
+    static {
+        for (Interface out : INTERFACES) {
+            for (Interface in : INTERFACES) {
+                PAIR_KEYS[out.ordinal()][in.ordinal()] = out.getInterfaceNamePre17().stream()
+                        .flatMap(o -> in.getInterfaceNamePre17().stream().map(i -> String.format("traffic_%s_%s", o, i)))
+                        .toArray(String[]::new);
+            }
+        }
+    }
+
     @Override
     public void readValues(JsonObject stats) {
         boolean fromTo = false;
-        for (Interface out : Interface.values()) {
-            for (Interface in : Interface.values()) {
-                String name = String.format("traffic_%s_%s", out.getInterfaceNamePre17(), in.getInterfaceNamePre17());
-                JsonElement j = stats.get(name);
-                if (j != null && !j.getAsString().isEmpty()) {
-                    fromTo = true;
-                    trafficOut.put(out, getOutput(out) + j.getAsLong());
-                    trafficIn.put(in, getInput(in) + j.getAsLong());
+        for (Interface out : INTERFACES) {
+            for (Interface in : INTERFACES) {
+                for (String name : PAIR_KEYS[out.ordinal()][in.ordinal()]) {
+                    JsonElement j = stats.get(name);
+                    if (j != null && !j.getAsString().isEmpty()) {
+                        fromTo = true;
+                        long value = j.getAsLong();
+                        addOutput(out, value);
+                        addInput(in, value);
+                    }
                 }
             }
         }
         if (fromTo) {
             return;
         }
-        for (Interface i : Interface.values()) {
-            String name = String.format("traffic_%s", i.getInterfaceNamePre17());
-            JsonElement j = stats.get(name);
-            if (j != null) {
-                String[] t = j.getAsString().split(",");
-                if (t.length == 2) {
-                    trafficIn.put(i, Long.parseLong(t[0]));
-                    trafficOut.put(i, Long.parseLong(t[1]));
+        for (Interface i : INTERFACES) {
+            for (String name : i.getTrafficKeysPre17()) {
+                JsonElement j = stats.get(name);
+                if (j != null) {
+                    String t = j.getAsString();
+                    int comma = t.indexOf(',');
+                    if (comma >= 0 && comma + 1 < t.length() && t.indexOf(',', comma + 1) < 0) {
+                        addInput(i, Long.parseLong(t, 0, comma, 10));
+                        addOutput(i, Long.parseLong(t, comma + 1, t.length(), 10));
+                    }
                 }
             }
         }
@@ -36,19 +36,22 @@ public class TrafficInfoV17 extends TrafficInfoV15 {
 
     @Override
     public void readValues(JsonObject interfaces) {
-        for (Interface i : Interface.values()) {
-            for (String name : i.getInterfaceNames()) {
-                JsonElement jRx = interfaces.get(String.format("%s_tx", name));
-                JsonElement jTx = interfaces.get(String.format("%s_rx", name));
+        for (Interface i : INTERFACES) {
+            String[] inKeys = i.getInterfaceInKeys();
+            String[] outKeys = i.getInterfaceOutKeys();
+            for (int n = 0; n < inKeys.length; n++) {
+                JsonElement jRx = interfaces.get(inKeys[n]);
+                JsonElement jTx = interfaces.get(outKeys[n]);
                 try {
                     if (jRx != null) {
-                        trafficIn.put(i, getInput(i) + jRx.getAsLong());
+                        addInput(i, jRx.getAsLong());
                     }
                     if (jTx != null) {
-                        trafficOut.put(i, getOutput(i) + jTx.getAsLong());
+                        addOutput(i, jTx.getAsLong());
                     }
                 } catch (NumberFormatException e) {
-                    LOGGER.log(Level.ERROR, String.format("Interface %s: values unreadable (%s,%s)", name, jRx, jTx));
+                    LOGGER.log(Level.ERROR, String.format("Interface %s: values unreadable (%s,%s)",
+                            i.getInterfaceNames().get(n), jRx, jTx));
                 }
             }
         }
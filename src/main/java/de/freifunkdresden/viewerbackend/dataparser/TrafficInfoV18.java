@@ -37,36 +37,27 @@ public class TrafficInfoV18 extends TrafficInfoV15 {
 
     @Override
     public void readValues(@NotNull JsonObject networks) {
-        for (Interface i : Interface.values()) {
-            if (i.getNetworkInfoType().equals(Interface.NetworkInfoType.NO_NETWORK)) {
+        JsonElement details = networks.get("details");
+        for (Interface i : INTERFACES) {
+            if (i.getNetworkInKey() == null) {
                 continue;
             }
             JsonObject network = networks;
-            String networkName = i.getNetworkName();
-            if (i.getNetworkInfoType().equals(Interface.NetworkInfoType.DETAILS)) {
-                JsonElement details = networks.get("details");
-                if (details != null) {
-                    network = details.getAsJsonObject();
-                }
+            if (i.getNetworkInfoType().equals(Interface.NetworkInfoType.DETAILS) && details != null) {
+                network = details.getAsJsonObject();
             }
-            if (networkName != null) {
-                JsonElement jRx = network.get(String.format("%s_tx", networkName));
-                JsonElement jTx = network.get(String.format("%s_rx", networkName));
-                if (i.equals(Interface.OVPN)) {
-                    // New vpn network values are the wrong way
-                    jRx = network.get(String.format("%s_rx", networkName));
-                    jTx = network.get(String.format("%s_tx", networkName));
+            JsonElement jRx = network.get(i.getNetworkInKey());
+            JsonElement jTx = network.get(i.getNetworkOutKey());
+            try {
+                if (jRx != null) {
+                    addInput(i, jRx.getAsLong());
                 }
-                try {
-                    if (jRx != null) {
-                        trafficIn.put(i, getInput(i) + jRx.getAsLong());
-                    }
-                    if (jTx != null) {
-                        trafficOut.put(i, getOutput(i) + jTx.getAsLong());
-                    }
-                } catch (NumberFormatException e) {
-                    LOGGER.log(Level.ERROR, String.format("Interface %s: values unreadable (%s,%s)", networkName, jRx, jTx));
+                if (jTx != null) {
+                    addOutput(i, jTx.getAsLong());
                 }
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.ERROR, String.format("Interface %s: values unreadable (%s,%s)", i.getNetworkName(),
+                        jRx, jTx));
             }
         }
     }
@@ -66,16 +66,23 @@ public class FreifunkApi {
         }
     }
 
-    public static void processApi() {
+    public static String readApiFile() {
         try {
             Path cacheFile = DataGen.getCache().resolveCacheFile(API_CACHE_FILE_NAME);
-            String json = Files.readString(cacheFile, StandardCharsets.UTF_8);
+            return Files.readString(cacheFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ApiProcessingException(e);
+        }
+    }
+
+    public static void processApi(String json) {
+        try {
             JsonArray api = JsonParser.parseString(json).getAsJsonArray();
             api.forEach(node -> {
                 JsonObject n = node.getAsJsonObject();
                 DataGen.getDataHolder().getNode(n.get("id").getAsInt()).setDpApi(new DataParserAPI(n));
             });
-        } catch (RuntimeException | IOException e) {
+        } catch (RuntimeException e) {
             throw new ApiProcessingException(e);
         }
     }
@@ -1,7 +1,7 @@
 /*
  * The MIT License
  *
- * Copyright 2020 Niklas Merkelt.
+ * Copyright 2026 Niklas Merkelt.
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -26,14 +26,27 @@ package de.freifunkdresden.viewerbackend.exception;
 
 import java.io.Serial;
 
-public class MalformedSysInfoException extends RuntimeException {
+public class ArchiveException extends RuntimeException {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
-    @Override
-    public String getMessage() {
-        return "Malformed SysInfo";
+    public ArchiveException() {
     }
 
+    public ArchiveException(String message) {
+        super(message);
+    }
+
+    public ArchiveException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ArchiveException(Throwable cause) {
+        super(cause);
+    }
+
+    public ArchiveException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
 }
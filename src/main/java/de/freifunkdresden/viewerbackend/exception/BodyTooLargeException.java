@@ -1,7 +1,7 @@
 /*
  * The MIT License
  *
- * Copyright 2020 Niklas Merkelt.
+ * Copyright 2026 Niklas Merkelt.
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -24,21 +24,22 @@
 
 package de.freifunkdresden.viewerbackend.exception;
 
+import java.io.IOException;
 import java.io.Serial;
 
-public class HttpStatusCodeException extends RuntimeException {
+public class BodyTooLargeException extends IOException {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
-    private final int statusCode;
+    private final long limit;
 
-    public HttpStatusCodeException(int statusCode) {
-        this.statusCode = statusCode;
+    public BodyTooLargeException(long limit) {
+        this.limit = limit;
     }
 
     @Override
     public String getMessage() {
-        return String.format("status code: %d", statusCode);
+        return String.format("response body exceeds %d bytes", limit);
     }
 }
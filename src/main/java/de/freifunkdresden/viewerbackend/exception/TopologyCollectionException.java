@@ -1,7 +1,7 @@
 /*
  * The MIT License
  *
- * Copyright 2018 Niklas Merkelt.
+ * Copyright 2026 Niklas Merkelt.
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -26,27 +26,27 @@ package de.freifunkdresden.viewerbackend.exception;
 
 import java.io.Serial;
 
-public class NodeCollectionInfoException extends RuntimeException {
+public class TopologyCollectionException extends RuntimeException {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
-    public NodeCollectionInfoException() {
+    public TopologyCollectionException() {
     }
 
-    public NodeCollectionInfoException(String message) {
+    public TopologyCollectionException(String message) {
         super(message);
     }
 
-    public NodeCollectionInfoException(String message, Throwable cause) {
+    public TopologyCollectionException(String message, Throwable cause) {
         super(message, cause);
     }
 
-    public NodeCollectionInfoException(Throwable cause) {
-        super(cause.getMessage(), cause);
+    public TopologyCollectionException(Throwable cause) {
+        super(cause);
     }
 
-    public NodeCollectionInfoException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+    public TopologyCollectionException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.ingest;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.freifunkdresden.viewerbackend.Cache;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.collector.CountingInputStream;
+import de.freifunkdresden.viewerbackend.collector.PushStore;
+import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfo;
+import de.freifunkdresden.viewerbackend.dataparser.NodeSnapshot;
+import de.freifunkdresden.viewerbackend.dataparser.SysInfoReader;
+import de.freifunkdresden.viewerbackend.exception.BodyTooLargeException;
+import de.freifunkdresden.viewerbackend.thread.NodeSysInfoThread;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+public class IngestServer {
+
+    private static final Logger LOGGER = LogManager.getLogger(IngestServer.class);
+
+    private final PushStore store;
+    private final int port;
+    private final int threads;
+    private final long maxBodySize;
+    private final long flushInterval;
+    private final String token;
+    private HttpServer server;
+    private ScheduledExecutorService flusher;
+
+    public IngestServer(@NotNull Config config, @NotNull Cache cache) {
+        this.store = PushStore.create(config, cache);
+        this.port = config.getIntValue("ingest_port", 4280);
+        this.threads = Math.max(1, config.getIntValue("ingest_threads", 4));
+        this.maxBodySize = Math.max(1, config.getIntValue("collector_max_body", 2 * 1024 * 1024));
+        this.flushInterval = Math.max(1, config.getIntValue("ingest_flush_interval", 10));
+        String t = config.getValue("ingest_token", "");
+        this.token = t.isBlank() ? null : t;
+    }
+
+    public void start() throws IOException {
+        store.load();
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/sysinfo", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(threads));
+        server.start();
+        flusher = Executors.newSingleThreadScheduledExecutor();
+        flusher.scheduleWithFixedDelay(store::flush, flushInterval, flushInterval, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+        LOGGER.log(Level.INFO, "Accepting sysinfo pushes on port {}", port);
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(1);
+        }
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        store.save();
+    }
+
+    private void handle(@NotNull HttpExchange exchange) throws IOException {
+        try (exchange) {
+            int status = accept(exchange);
+            exchange.sendResponseHeaders(status, -1);
+        }
+    }
+
+    private int accept(@NotNull HttpExchange exchange) {
+        if (!exchange.getRequestMethod().equalsIgnoreCase("POST")) {
+            return 405;
+        }
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        boolean relay = token != null && ("Bearer " + token).equals(authorization);
+        if (authorization != null && !relay) {
+            return 401;
+        }
+        byte[] body;
+        try {
+            body = read(exchange);
+        } catch (BodyTooLargeException e) {
+            return 413;
+        } catch (IOException e) {
+            return 400;
+        }
+        NodeSnapshot snapshot;
+        try {
+            String document = new String(body, StandardCharsets.UTF_8);
+            JsonElement json = SysInfoReader.read(new JsonReader(new StringReader(document)));
+            DataParserSysInfo dp = json.isJsonObject() ? NodeSysInfoThread.getDataParser(json.getAsJsonObject()) : null;
+            if (dp == null) {
+                return 400;
+            }
+            snapshot = dp.toSnapshot();
+        } catch (RuntimeException e) {
+            return 400;
+        }
+        int nodeId = snapshot.nodeId();
+        // without the relay token only the node itself may push its data
+        if (!relay && !isFromNode(exchange, nodeId)) {
+            LOGGER.log(Level.WARN, "Rejected push for node {} from {}", nodeId, exchange.getRemoteAddress());
+            return 403;
+        }
+        store.put(nodeId, System.currentTimeMillis(), body);
+        return 204;
+    }
+
+    @NotNull
+    private byte[] read(@NotNull HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        if (encoding != null && encoding.equalsIgnoreCase("gzip")) {
+            in = new GZIPInputStream(in);
+        } else if (encoding != null && !encoding.equalsIgnoreCase("identity")) {
+            throw new IOException(String.format("Unsupported content encoding `%s`", encoding));
+        }
+        try (CountingInputStream body = new CountingInputStream(in, maxBodySize)) {
+            return body.readAllBytes();
+        }
+    }
+
+    private static boolean isFromNode(@NotNull HttpExchange exchange, int nodeId) {
+        try {
+            return new Node(nodeId).getIpAddress().equals(exchange.getRemoteAddress().getAddress());
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -59,7 +59,7 @@ public class JsonFileGen {
     public JsonFileGen(@NotNull Path path) {
         this.path = path;
         dateHop.setTimeZone(TimeZone.getTimeZone("UTC"));
-        Iterator<Node> it = DataGen.getDataHolder().getNodes().values().stream().filter(Node::isDisplayed).iterator();
+        Iterator<Node> it = DataGen.getDataHolder().getNodes().stream().filter(Node::isDisplayed).iterator();
         for (int i = 0; it.hasNext(); i++) {
             Node node = it.next();
             JsonObject hopNode = JsonNodeGen.getJsonObject(node, dateHop);
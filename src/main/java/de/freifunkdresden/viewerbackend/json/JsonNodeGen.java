@@ -37,6 +37,7 @@ import org.jetbrains.annotations.Nullable;
 import java.text.DateFormat;
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class JsonNodeGen {
 
@@ -98,6 +99,10 @@ public class JsonNodeGen {
                 statistics.addProperty("uptime", n.getUptime());
                 statistics.addProperty("memory_usage", n.getMemoryUsage());
                 statistics.addProperty("loadavg", n.getLoadAvg());
+                if (n.isSysInfoCarriedForward()) {
+                    // not polled this run, the values are from an earlier fetch
+                    statistics.addProperty("data_age", TimeUnit.MILLISECONDS.toSeconds(n.getSysInfoAge()));
+                }
                 statistics.add("airtime", getHopGlassAirtimeArray(n, a2g, a5g));
                 JsonObject wireless = new JsonObject();
                 nodeinfo.add("wireless", wireless);
@@ -139,6 +144,9 @@ public class JsonNodeGen {
                 Date date = new Date(System.currentTimeMillis() - (long) (n.getUptime() * 1000));
                 node.addProperty("uptime", df.format(date));
                 node.addProperty("nproc", n.getCpuCount());
+                if (n.isSysInfoCarriedForward()) {
+                    node.addProperty("data_age", TimeUnit.MILLISECONDS.toSeconds(n.getSysInfoAge()));
+                }
             }
             if (!n.isGateway() && n.getGateway() != null) {
                 node.addProperty("gateway", n.getGateway().getFakeId());
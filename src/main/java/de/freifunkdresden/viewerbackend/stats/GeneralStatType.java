@@ -27,5 +27,10 @@ package de.freifunkdresden.viewerbackend.stats;
 public enum GeneralStatType {
     CLIENTS,
     NODES,
-    NODES_ONLINE
+    NODES_ONLINE,
+    NODES_SKIPPED,
+    NODES_PUSHED,
+    NODES_MULTICAST,
+    NODES_CARRIED_FORWARD,
+    DEDUP_SAVED_BYTES
 }
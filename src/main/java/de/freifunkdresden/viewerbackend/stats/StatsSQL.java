@@ -27,6 +27,9 @@ package de.freifunkdresden.viewerbackend.stats;
 import de.freifunkdresden.viewerbackend.Airtime;
 import de.freifunkdresden.viewerbackend.DataGen;
 import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.catalog.FirmwareCatalog;
+import de.freifunkdresden.viewerbackend.catalog.HardwareCatalog;
+import de.freifunkdresden.viewerbackend.collector.FetchMetrics;
 import de.freifunkdresden.viewerbackend.config.CommunityDirectory;
 import de.freifunkdresden.viewerbackend.config.VpnServerDirectory;
 import de.freifunkdresden.viewerbackend.dataparser.TrafficInfo;
@@ -50,7 +53,9 @@ public class StatsSQL {
     private static final List<Point> vpnUsage = new ArrayList<>();
     private static final List<Point> vpnUsageFastD = new ArrayList<>();
     private static final List<Point> vpnUsageWireGuard = new ArrayList<>();
-    private static final Map<String, Integer> versions = new LinkedHashMap<>();
+    private static final List<Point> sysInfoTransfer = new ArrayList<>();
+    private static final List<Point> fetchMetrics = new ArrayList<>();
+    private static final Map<FirmwareCatalog.Version, Integer> versions = new LinkedHashMap<>();
     private static final Map<String, Integer> communities = new LinkedHashMap<>();
     private static final Map<String, Integer> model = new LinkedHashMap<>();
     private static final Map<String, Integer> modelWithoutVersion = new LinkedHashMap<>();
@@ -66,8 +71,8 @@ public class StatsSQL {
         }
     }
 
-    public static void addVersion(@Nullable String version) {
-        if (version != null && !version.isEmpty()) {
+    public static void addVersion(@Nullable FirmwareCatalog.Version version) {
+        if (version != null) {
             synchronized (versions) {
                 versions.put(version, versions.getOrDefault(version, 0) + 1);
             }
@@ -81,19 +86,18 @@ public class StatsSQL {
         }
     }
 
-    public static void addModel(@NotNull String mod, @NotNull String man) {
-        if (mod.isBlank()) {
+    public static void addModel(@Nullable HardwareCatalog.Hardware hardware) {
+        if (hardware == null || hardware.raw().isBlank()) {
             return;
         }
         synchronized (model) {
-            model.put(mod, model.getOrDefault(mod, 0) + 1);
+            model.put(hardware.raw(), model.getOrDefault(hardware.raw(), 0) + 1);
         }
         synchronized (manufacturer) {
-            manufacturer.put(man, manufacturer.getOrDefault(man, 0) + 1);
+            manufacturer.put(hardware.manufacturer(), manufacturer.getOrDefault(hardware.manufacturer(), 0) + 1);
         }
-        String modWithoutV = mod.replaceAll("(?:\\s\\(IL\\))*(?:N/ND)*N*(?:ND)*\\s*v\\d+(?:\\.\\d)*$", "").replace("TP-LINK", "TP-Link");
         synchronized (modelWithoutVersion) {
-            modelWithoutVersion.put(modWithoutV, modelWithoutVersion.getOrDefault(modWithoutV, 0) + 1);
+            modelWithoutVersion.put(hardware.model(), modelWithoutVersion.getOrDefault(hardware.model(), 0) + 1);
         }
     }
 
@@ -124,6 +128,23 @@ public class StatsSQL {
         }
     }
 
+    public static void addSysInfoTransfer(@NotNull Node node, @NotNull String encoding, long wireBytes, long bytes) {
+        synchronized (sysInfoTransfer) {
+            sysInfoTransfer.add(Point.measurement("node_sysinfo_transfer")
+                    .tag("node", String.valueOf(node.getId()))
+                    .tag("encoding", encoding)
+                    .addField("wire_bytes", wireBytes)
+                    .addField("bytes", bytes)
+                    .build());
+        }
+    }
+
+    public static void addFetchMetrics(@NotNull FetchMetrics metrics) {
+        synchronized (fetchMetrics) {
+            fetchMetrics.addAll(metrics.getPoints());
+        }
+    }
+
     public static void addGatewayUsage(Node gw) {
         if (gw == null || gw.getId() < 0) {
             return;
@@ -147,13 +168,15 @@ public class StatsSQL {
         DataGen.getInflux().write(vpnUsage);
         DataGen.getInflux().write(vpnUsageFastD);
         DataGen.getInflux().write(vpnUsageWireGuard);
+        DataGen.getInflux().write(sysInfoTransfer);
+        DataGen.getInflux().write(fetchMetrics);
         List<Point> nodeClients = new ArrayList<>();
         List<Point> nodeLoad = new ArrayList<>();
         List<Point> nodeMemory = new ArrayList<>();
         List<Point> nodeAirtime = new ArrayList<>();
         List<Point> nodeUptime = new ArrayList<>();
         List<Point> nodeTraffic = new ArrayList<>();
-        DataGen.getDataHolder().getNodes().values().stream()
+        DataGen.getDataHolder().getNodes().stream()
                 .filter(Node::isOnline)
                 .forEach(e -> {
                     long currentTimeMillis = System.currentTimeMillis();
@@ -164,6 +187,10 @@ public class StatsSQL {
                                 .addField("value", e.getClients())
                                 .build());
                     }
+                    if (e.isSysInfoCarriedForward()) {
+                        // these values were already written when the data was fetched
+                        return;
+                    }
                     nodeLoad.add(Point.measurement("node_load")
                             .time(currentTimeMillis, TimeUnit.MILLISECONDS)
                             .tag("node", String.valueOf(e.getId()))
@@ -225,10 +252,17 @@ public class StatsSQL {
         DataGen.getInflux().write(nodeAirtime);
         DataGen.getInflux().write(nodeTraffic);
         List<Point> nodesVersions = new ArrayList<>();
-        versions.forEach((v, c) -> nodesVersions.add(Point.measurement("nodes_versions")
-                .tag("version", v)
-                .addField("value", c)
-                .build()));
+        versions.forEach((v, c) -> {
+            Point.Builder point = Point.measurement("nodes_versions")
+                    .tag("version", v.raw())
+                    .addField("value", c);
+            if (v.isValid()) {
+                point.tag("major", String.valueOf(v.major()))
+                        .tag("minor", String.valueOf(v.minor()))
+                        .tag("patch", String.valueOf(v.patch()));
+            }
+            nodesVersions.add(point.build());
+        });
         DataGen.getInflux().write(nodesVersions);
         List<Point> nodesCommunities = new ArrayList<>();
         communities.forEach((c, v) -> nodesCommunities.add(Point.measurement("nodes_communities")
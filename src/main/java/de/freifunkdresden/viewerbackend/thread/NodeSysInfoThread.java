@@ -24,10 +24,18 @@
 
 package de.freifunkdresden.viewerbackend.thread;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.collector.CountingInputStream;
+import de.freifunkdresden.viewerbackend.collector.FetchContext;
+import de.freifunkdresden.viewerbackend.collector.FetchMetrics;
+import de.freifunkdresden.viewerbackend.collector.FetchOutcome;
+import de.freifunkdresden.viewerbackend.collector.HtmlStrippingReader;
+import de.freifunkdresden.viewerbackend.collector.LatencyHistory;
+import de.freifunkdresden.viewerbackend.collector.RecordingInputStream;
 import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfo;
 import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfoV10;
 import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfoV11;
@@ -37,133 +45,336 @@ import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfoV15;
 import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfoV16;
 import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfoV17;
 import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfoV18;
-import de.freifunkdresden.viewerbackend.exception.EmptyJsonException;
-import de.freifunkdresden.viewerbackend.exception.HttpStatusCodeException;
-import de.freifunkdresden.viewerbackend.exception.MalformedSysInfoException;
-import de.freifunkdresden.viewerbackend.exception.NodeCollectionException;
-import de.freifunkdresden.viewerbackend.exception.NodeCollectionInfoException;
+import de.freifunkdresden.viewerbackend.dataparser.NodeSnapshot;
+import de.freifunkdresden.viewerbackend.dataparser.SysInfoReader;
+import de.freifunkdresden.viewerbackend.stats.StatsSQL;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UncheckedIOException;
+import java.io.PushbackInputStream;
 import java.net.HttpURLConnection;
-import java.net.NoRouteToHostException;
-import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 public class NodeSysInfoThread implements Runnable {
 
-    private static final short RETRY_COUNT = 3;
+    public static final int RETRY_COUNT = 3;
+    public static final int HTTP_PORT = 80;
     private static final Logger LOGGER = LogManager.getLogger(NodeSysInfoThread.class);
 
     private final Node node;
-    private short round = 1;
+    private final FetchContext context;
+    private final LatencyHistory latencyHistory;
+    private final FetchMetrics metrics;
+    private final int maxAttempts;
+    private short attempt = 0;
+    private boolean retryable = false;
+    private long duration = 0;
+    private boolean cancelled = false;
+    private volatile HttpURLConnection connection;
+    private byte[] body;
+    private int statusCode;
+    private long connectTime;
+    private long firstByteTime;
+    private long parseTime;
+    private long wireBytes;
+    private long bytes;
 
-    public NodeSysInfoThread(Node node) {
+    public NodeSysInfoThread(Node node, FetchContext context, int maxAttempts) {
         this.node = node;
+        this.context = context;
+        this.latencyHistory = context.latencyHistory();
+        this.metrics = context.metrics();
+        this.maxAttempts = maxAttempts;
     }
 
     @Override
     public void run() {
-        if (Thread.interrupted()) {
+        if (Thread.interrupted() || isCancelled()) {
             return;
         }
+        attempt(this::fetch);
+    }
+
+    public void replay(@NotNull byte[] recorded) {
+        attempt(() -> {
+            bytes = recorded.length;
+            return read(new CountingInputStream(new ByteArrayInputStream(recorded), context.maxBodySize()));
+        });
+    }
+
+    private void attempt(@NotNull Fetch fetch) {
+        attempt++;
+        retryable = false;
+        statusCode = 0;
+        connectTime = FetchMetrics.NOT_MEASURED;
+        firstByteTime = FetchMetrics.NOT_MEASURED;
+        parseTime = FetchMetrics.NOT_MEASURED;
+        wireBytes = FetchMetrics.NOT_MEASURED;
+        bytes = FetchMetrics.NOT_MEASURED;
+        long start = System.nanoTime();
+        FetchOutcome outcome = FetchOutcome.ERROR;
         try {
-            Optional<JsonObject> sysInfo = getSysInfo();
-            if (sysInfo.isPresent()) {
-                node.setDpSysInfo(getDataParser(sysInfo.get()));
-                return;
+            outcome = fetch.get();
+            switch (outcome) {
+                case HTTP_STATUS -> failed(outcome, String.format("status code: %d", statusCode));
+                case TRUNCATED -> failed(outcome, "Response body is truncated");
+                case EMPTY -> failed(outcome, "Json is empty");
+                case MALFORMED -> failed(outcome, "Malformed sysinfo");
+                default -> {
+                }
             }
-        } catch (NodeCollectionInfoException e) {
-            if (round == RETRY_COUNT && !e.getMessage().startsWith("No route to host")) {
-                LOGGER.log(Level.WARN, "Node {}: {}", node.getId(), e.getMessage());
+        } catch (IOException | JsonParseException e) {
+            outcome = isCancelled() ? FetchOutcome.CANCELLED : FetchOutcome.classify(e);
+            Throwable cause = e instanceof JsonParseException && e.getCause() != null ? e.getCause() : e;
+            failed(outcome, cause.getMessage());
+        } catch (URISyntaxException | RuntimeException e) {
+            if (!isCancelled()) {
+                LOGGER.log(Level.ERROR, String.format("Node %s: ", node.getId()), e);
             }
-        } catch (RuntimeException e) {
-            LOGGER.log(Level.ERROR, String.format("Node %s: ", node.getId()), e);
+        } finally {
+            connection = null;
+            long total = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            duration += total;
+            metrics.record(new FetchMetrics.Attempt(outcome, statusCode, connectTime, firstByteTime, total,
+                    parseTime, wireBytes, bytes));
+        }
+    }
+
+    public void cancel() {
+        synchronized (this) {
+            cancelled = true;
         }
-        if (round < RETRY_COUNT) {
-            round++;
-            run();
+        HttpURLConnection con = connection;
+        if (con != null) {
+            con.disconnect();
         }
     }
 
-    private Optional<JsonObject> getSysInfo() {
-        try {
-            String conString = String.format("http://%s/sysinfo-json.cgi", node.getIpAddressString());
-            HttpURLConnection con = (HttpURLConnection) new URI(conString).toURL().openConnection();
-            con.setConnectTimeout(10000);
-            con.setReadTimeout(15000);
-            if (con.getResponseCode() == 200) {
-                String json;
-                try (InputStreamReader reader = new InputStreamReader(con.getInputStream(), StandardCharsets.UTF_8)) {
-                    try (BufferedReader bufferedReader = new BufferedReader(reader)) {
-                        json = bufferedReader.lines().collect(Collectors.joining());
-                    }
-                }
-                //Fix HTML injected in JSON
-                int begin = json.indexOf("<!DOCTYPE html>");
-                if (begin != -1) {
-                    json = json.replaceAll("(<!DOCTYPE html>[\\S\\s]*</html>)", "{}");
-                    LOGGER.log(Level.WARN, "Node {}: Stripped html from json", node.getId());
-                }
-                return Optional.of(JsonParser.parseString(json).getAsJsonObject());
-            } else {
-                throw new HttpStatusCodeException(con.getResponseCode());
-            }
-        } catch (NoRouteToHostException ignored) {
-            return Optional.empty();
-        } catch (UncheckedIOException | SocketException | SocketTimeoutException | HttpStatusCodeException |
-                 JsonSyntaxException e) {
-            throw new NodeCollectionInfoException(e);
-        } catch (RuntimeException | IOException | URISyntaxException e) {
-            throw new NodeCollectionException(e);
+    private synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private synchronized void publish(@NotNull NodeSnapshot snapshot) {
+        // results arriving after the collector gave up must not change the node during later stages
+        if (!cancelled) {
+            node.setSysInfo(snapshot);
         }
     }
 
+    private void failed(@NotNull FetchOutcome outcome, @Nullable String message) {
+        boolean transientFailure = outcome == FetchOutcome.HTTP_STATUS
+                ? FetchOutcome.isTransientStatus(statusCode) : outcome.isTransient();
+        retryable = attempt < maxAttempts && transientFailure;
+        if (!retryable && outcome != FetchOutcome.NO_ROUTE && outcome != FetchOutcome.CANCELLED) {
+            LOGGER.log(Level.WARN, "Node {}: {}", node.getId(), message);
+        }
+    }
+
+    public Node getNode() {
+        return node;
+    }
+
+    public short getAttempt() {
+        return attempt;
+    }
+
+    public boolean isRetryable() {
+        return retryable && !isCancelled();
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    @Nullable
+    public byte[] getBody() {
+        return body;
+    }
+
     @NotNull
-    @Contract("_ -> new")
-    private static DataParserSysInfo getDataParser(@NotNull JsonObject sysInfo) {
+    private FetchOutcome fetch() throws IOException, URISyntaxException {
+        String conString = String.format("http://%s:%d/sysinfo-json.cgi", node.getIpAddressString(), context.port());
+        HttpURLConnection con = (HttpURLConnection) new URI(conString).toURL().openConnection();
+        connection = con;
+        // retries of a transient failure get the full timeouts, the history might be too optimistic
+        LatencyHistory.Timeouts timeouts = attempt == 1 ? latencyHistory.getTimeouts(node.getId())
+                : LatencyHistory.DEFAULT_TIMEOUTS;
+        int remaining = (int) Math.max(1, context.deadline() - System.currentTimeMillis());
+        con.setConnectTimeout(Math.min(timeouts.connect(), remaining));
+        con.setReadTimeout(Math.min(timeouts.read(), remaining));
+        con.setRequestProperty("Accept-Encoding", "gzip, deflate");
+        statusCode = getResponseCode(con);
+        if (statusCode != 200) {
+            return FetchOutcome.HTTP_STATUS;
+        }
+        String encoding = con.getContentEncoding();
+        CountingInputStream wire = new CountingInputStream(con.getInputStream());
+        // an Inflater passed to InflaterInputStream is not ended on close, its native memory is released here
+        Inflater inflater = null;
+        InputStream decoded;
+        if (encoding != null && encoding.equalsIgnoreCase("deflate")) {
+            PushbackInputStream pushback = new PushbackInputStream(wire, 2);
+            inflater = createInflater(pushback);
+            decoded = new InflaterInputStream(pushback, inflater);
+        } else {
+            decoded = decode(wire, encoding);
+        }
+        RecordingInputStream recording = context.recordBodies() ? new RecordingInputStream(decoded) : null;
+        CountingInputStream body = new CountingInputStream(recording != null ? recording : decoded,
+                context.maxBodySize());
         try {
-            if (sysInfo.isEmpty()) {
-                throw new EmptyJsonException();
-            }
-            if (!sysInfo.has("version") || !sysInfo.has("data")) {
-                throw new MalformedSysInfoException();
+            FetchOutcome outcome = read(body);
+            if (recording != null && outcome != FetchOutcome.TRUNCATED) {
+                this.body = recording.getRecorded();
             }
-            int version = sysInfo.get("version").getAsInt();
-            JsonObject data = sysInfo.get("data").getAsJsonObject();
-            if (version >= 18) {
-                return new DataParserSysInfoV18(data);
-            } else if (version == 17) {
-                return new DataParserSysInfoV17(data);
-            } else if (version == 16) {
-                return new DataParserSysInfoV16(data);
-            } else if (version == 15) {
-                return new DataParserSysInfoV15(data);
-            } else if (version == 14) {
-                return new DataParserSysInfoV14(data);
-            } else if (version == 13) {
-                return new DataParserSysInfoV13(data);
-            } else if (version >= 11) {
-                return new DataParserSysInfoV11(data);
-            } else if (version == 10) {
-                return new DataParserSysInfoV10(data);
-            } else {
-                return new DataParserSysInfo(data);
+            return outcome;
+        } finally {
+            if (inflater != null) {
+                inflater.end();
             }
-        } catch (EmptyJsonException | MalformedSysInfoException e) {
-            throw new NodeCollectionInfoException(e);
+            wireBytes = wire.getCount();
+            bytes = body.getCount();
+            StatsSQL.addSysInfoTransfer(node, encoding == null ? "identity" : encoding.toLowerCase(),
+                    wireBytes, bytes);
+        }
+    }
+
+    @NotNull
+    private FetchOutcome read(@NotNull CountingInputStream body) throws IOException {
+        JsonElement json;
+        boolean stripped;
+        // the body is parsed while it is read, so this includes the transfer time
+        long parseStart = System.nanoTime();
+        try (HtmlStrippingReader reader = new HtmlStrippingReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            json = SysInfoReader.read(new JsonReader(reader));
+            stripped = reader.hasStripped();
+        } finally {
+            parseTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - parseStart);
+        }
+        //Fix HTML injected in JSON
+        if (stripped) {
+            LOGGER.log(Level.WARN, "Node {}: Stripped html from json", node.getId());
+        }
+        // gson reports an EOFException before the first token as an empty document
+        if (json.isJsonNull() && !body.isFinished()) {
+            return FetchOutcome.TRUNCATED;
+        }
+        if (json.isJsonNull() || (json.isJsonObject() && json.getAsJsonObject().isEmpty())) {
+            return FetchOutcome.EMPTY;
+        }
+        DataParserSysInfo dp = json.isJsonObject() ? getDataParser(json.getAsJsonObject()) : null;
+        if (dp == null) {
+            return FetchOutcome.MALFORMED;
+        }
+        NodeSnapshot snapshot;
+        try {
+            snapshot = dp.toSnapshot();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.DEBUG, String.format("Node %d: Unparseable sysinfo", node.getId()), e);
+            return FetchOutcome.MALFORMED;
         }
+        publish(snapshot);
+        return stripped ? FetchOutcome.HTML_STRIPPED : FetchOutcome.SUCCESS;
+    }
+
+    @NotNull
+    private static InputStream decode(@NotNull InputStream in, @Nullable String encoding) throws IOException {
+        if (encoding == null || encoding.isBlank() || encoding.equalsIgnoreCase("identity")) {
+            return in;
+        }
+        if (encoding.equalsIgnoreCase("gzip") || encoding.equalsIgnoreCase("x-gzip")) {
+            return new GZIPInputStream(in);
+        }
+        throw new IOException(String.format("Unsupported content encoding `%s`", encoding));
+    }
+
+    // RFC 9110 says zlib wrapped, some servers send raw deflate: check for a zlib header
+    @NotNull
+    private static Inflater createInflater(@NotNull PushbackInputStream in) throws IOException {
+        int cmf = in.read();
+        int flg = in.read();
+        if (flg != -1) {
+            in.unread(flg);
+        }
+        if (cmf != -1) {
+            in.unread(cmf);
+        }
+        boolean zlib = (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+        return new Inflater(!zlib);
+    }
+
+    private int getResponseCode(@NotNull HttpURLConnection con) throws IOException {
+        long start = System.nanoTime();
+        try {
+            con.connect();
+        } catch (SocketTimeoutException e) {
+            latencyHistory.record(node.getId(), LatencyHistory.TIMEOUT, LatencyHistory.TIMEOUT);
+            throw e;
+        }
+        long connected = System.nanoTime();
+        connectTime = TimeUnit.NANOSECONDS.toMillis(connected - start);
+        try {
+            int responseCode = con.getResponseCode();
+            firstByteTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connected);
+            latencyHistory.record(node.getId(), (int) connectTime, (int) firstByteTime);
+            return responseCode;
+        } catch (SocketTimeoutException e) {
+            latencyHistory.record(node.getId(), (int) connectTime, LatencyHistory.TIMEOUT);
+            throw e;
+        }
+    }
+
+    @Nullable
+    public static DataParserSysInfo getDataParser(@NotNull JsonObject sysInfo) {
+        JsonElement jVersion = sysInfo.get("version");
+        JsonElement jData = sysInfo.get("data");
+        if (jVersion == null || !jVersion.isJsonPrimitive() || jData == null || !jData.isJsonObject()) {
+            return null;
+        }
+        int version;
+        try {
+            version = jVersion.getAsInt();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        JsonObject data = jData.getAsJsonObject();
+        if (version >= 18) {
+            return new DataParserSysInfoV18(data);
+        } else if (version == 17) {
+            return new DataParserSysInfoV17(data);
+        } else if (version == 16) {
+            return new DataParserSysInfoV16(data);
+        } else if (version == 15) {
+            return new DataParserSysInfoV15(data);
+        } else if (version == 14) {
+            return new DataParserSysInfoV14(data);
+        } else if (version == 13) {
+            return new DataParserSysInfoV13(data);
+        } else if (version >= 11) {
+            return new DataParserSysInfoV11(data);
+        } else if (version == 10) {
+            return new DataParserSysInfoV10(data);
+        } else {
+            return new DataParserSysInfo(data);
+        }
+    }
+
+    private interface Fetch {
+        FetchOutcome get() throws IOException, URISyntaxException;
     }
 }
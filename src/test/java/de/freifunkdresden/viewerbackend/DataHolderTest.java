@@ -0,0 +1,58 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DataHolderTest {
+
+    @Test
+    void listsNodesInIdOrder() {
+        DataHolder holder = new DataHolder();
+        for (int id : new int[]{70000, 300, -5, 2, 65535, 300}) {
+            holder.getNode(id);
+        }
+        Collection<Node> nodes = holder.getNodes();
+        assertEquals(5, nodes.size());
+        assertEquals(List.of(-5, 2, 300, 65535, 70000), nodes.stream().map(Node::getId).toList());
+    }
+
+    @Test
+    void viewShowsNodesAddedLater() {
+        DataHolder holder = new DataHolder();
+        Collection<Node> nodes = holder.getNodes();
+        assertEquals(0, nodes.size());
+        Node node = holder.getNode(42);
+        assertEquals(1, nodes.size());
+        assertSame(node, nodes.iterator().next());
+        assertSame(node, holder.getNodeByIp("10.200.0.43"));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend;
+
+import de.freifunkdresden.viewerbackend.exception.TopologyCollectionException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class LocalDataCollectorTest {
+
+    private static final String LOCAL = "10.201.0.1";
+
+    @BeforeAll
+    static void collectLinks() throws IOException, TopologyCollectionException {
+        LocalDataCollector.collectLinks(Files.readString(Paths.get("example_bmxd_links.txt")));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "10.201.0.2, TUNNEL, 100, 100",
+            "10.201.0.17, TUNNEL, 98, 96",
+            "10.201.1.48, TUNNEL, 90, 88",
+            "10.201.3.12, TUNNEL, 76, 72",
+            "10.200.0.9, WIRELESS, 58, 54",
+            "10.201.0.44, OTHER, 100, 100",
+    })
+    void collectsLink(@NotNull String neighbour, @NotNull LinkType type, byte sourceTq, byte targetTq) {
+        DataHolder holder = DataGen.getDataHolder();
+        Node source = holder.getNodeByIp(LOCAL);
+        Node target = holder.getNodeByIp(neighbour);
+        Link link = holder.getLink(source, target, type);
+        assertNotNull(link, neighbour);
+        assertEquals(source, link.getSource());
+        assertEquals(target, link.getTarget());
+        assertEquals(sourceTq, link.getSourceTq());
+        assertEquals(targetTq, link.getTargetTq());
+    }
+
+    @Test
+    void skipsHeader() {
+        Node source = DataGen.getDataHolder().getNodeByIp(LOCAL);
+        assertEquals(6, DataGen.getDataHolder().getLinks().stream()
+                .filter(link -> link.getSource().equals(source))
+                .count());
+    }
+}
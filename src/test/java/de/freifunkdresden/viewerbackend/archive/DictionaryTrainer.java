@@ -0,0 +1,231 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.archive;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+// Builds a preset dictionary from captured sysinfo responses, either run archives of a collection with archive=true
+// or directories with one response per file. Only fragments found in at least min-share of the documents are kept,
+// so per node values drop out, with --keys-only values are never taken at all. The result is bundled as
+// src/main/resources/dictionary/sysinfo-<id>.dict with the next id, never overwrite a released one.
+// Usage: DictionaryTrainer [--keys-only] [--min-share 0.5] <output> <archive or directory>...
+public class DictionaryTrainer {
+
+    private static final Logger LOGGER = LogManager.getLogger(DictionaryTrainer.class);
+    private static final int MAX_SIZE = 32 * 1024;
+    private static final int MIN_LENGTH = 3;
+
+    private record Fragment(String text, int documents) {
+
+        long getScore() {
+            return (long) documents * text.length();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean keysOnly = false;
+        double minShare = 0.5;
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--keys-only" -> keysOnly = true;
+                case "--min-share" -> minShare = Double.parseDouble(args[++i]);
+                default -> paths.add(Paths.get(args[i]));
+            }
+        }
+        if (paths.size() < 2) {
+            LOGGER.log(Level.ERROR, "Usage: DictionaryTrainer [--keys-only] [--min-share 0.5] <output> <input>...");
+            return;
+        }
+        List<byte[]> documents = new ArrayList<>();
+        for (Path input : paths.subList(1, paths.size())) {
+            load(input, documents);
+        }
+        byte[] dictionary = train(documents, keysOnly, minShare);
+        Files.write(paths.get(0), dictionary);
+        LOGGER.log(Level.INFO, "{} documents, {} bytes of dictionary", documents.size(), dictionary.length);
+        long raw = 0;
+        long plain = 0;
+        long preset = 0;
+        for (byte[] document : documents) {
+            raw += document.length;
+            plain += deflate(document, null);
+            preset += deflate(document, dictionary);
+        }
+        LOGGER.log(Level.INFO, "{} bytes, {} deflated, {} deflated with dictionary", raw, plain, preset);
+    }
+
+    private static void load(@NotNull Path input, @NotNull List<byte[]> documents) throws IOException {
+        if (Files.isDirectory(input)) {
+            try (Stream<Path> files = Files.list(input)) {
+                for (Path file : files.sorted().toList()) {
+                    load(file, documents);
+                }
+            }
+        } else if (input.getFileName().toString().endsWith(RunArchive.FILE_EXTENSION)) {
+            documents.addAll(RunArchiveReader.read(input).getAll(EntryType.SYSINFO).values());
+        } else {
+            documents.add(Files.readAllBytes(input));
+        }
+    }
+
+    @NotNull
+    static byte[] train(@NotNull List<byte[]> documents, boolean keysOnly, double minShare) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (byte[] document : documents) {
+            for (String fragment : split(new String(document, StandardCharsets.UTF_8), keysOnly)) {
+                counts.merge(fragment, 1, Integer::sum);
+            }
+        }
+        int minDocuments = Math.max(1, (int) Math.ceil(documents.size() * minShare));
+        List<Fragment> fragments = counts.entrySet().stream()
+                .filter(e -> e.getValue() >= minDocuments)
+                .map(e -> new Fragment(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingLong(Fragment::getScore).reversed().thenComparing(Fragment::text))
+                .toList();
+        List<byte[]> selected = new ArrayList<>();
+        int size = 0;
+        for (Fragment fragment : fragments) {
+            byte[] bytes = fragment.text().getBytes(StandardCharsets.UTF_8);
+            if (size + bytes.length <= MAX_SIZE) {
+                selected.add(bytes);
+                size += bytes.length;
+            }
+        }
+        // deflate reaches the end of the dictionary with the shortest distances, the most valuable fragments go last
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        for (int i = selected.size() - 1; i >= 0; i--) {
+            out.writeBytes(selected.get(i));
+        }
+        return out.toByteArray();
+    }
+
+    // Cuts a document at its values, the structure in between, e.g. `","uptime":"`, is kept as one fragment and
+    // values become fragments of their own unless keysOnly is set
+    @NotNull
+    static Set<String> split(@NotNull String document, boolean keysOnly) {
+        Set<String> fragments = new HashSet<>();
+        StringBuilder structure = new StringBuilder();
+        int i = 0;
+        while (i < document.length()) {
+            char c = document.charAt(i);
+            int end;
+            if (c == '"') {
+                end = skipString(document, i);
+                int next = end;
+                while (next < document.length() && Character.isWhitespace(document.charAt(next))) {
+                    next++;
+                }
+                if (next < document.length() && document.charAt(next) == ':') {
+                    structure.append(document, i, end);
+                } else {
+                    structure.append('"');
+                    addValue(fragments, structure, document.substring(i + 1, Math.max(i + 1, end - 1)), keysOnly);
+                    structure.append('"');
+                }
+            } else if (c == '-' || Character.isLetterOrDigit(c)) {
+                end = i;
+                while (end < document.length() && (document.charAt(end) == '.' || document.charAt(end) == '-'
+                        || document.charAt(end) == '+' || Character.isLetterOrDigit(document.charAt(end)))) {
+                    end++;
+                }
+                addValue(fragments, structure, document.substring(i, end), keysOnly);
+            } else {
+                end = i + 1;
+                structure.append(c);
+            }
+            i = end;
+        }
+        add(fragments, structure.toString());
+        return fragments;
+    }
+
+    private static int skipString(@NotNull String document, int start) {
+        int i = start + 1;
+        while (i < document.length()) {
+            char c = document.charAt(i++);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return Math.min(i, document.length());
+            }
+        }
+        return document.length();
+    }
+
+    private static void addValue(@NotNull Set<String> fragments, @NotNull StringBuilder structure,
+                                 @NotNull String value, boolean keysOnly) {
+        add(fragments, structure.toString());
+        structure.setLength(0);
+        if (!keysOnly) {
+            add(fragments, value);
+        }
+    }
+
+    private static void add(@NotNull Set<String> fragments, @NotNull String fragment) {
+        if (fragment.length() >= MIN_LENGTH) {
+            fragments.add(fragment);
+        }
+    }
+
+    private static int deflate(@NotNull byte[] document, @Nullable byte[] dictionary) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(document);
+            deflater.finish();
+            byte[] buffer = new byte[document.length + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                length += deflater.deflate(buffer);
+            }
+            return length;
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.archive;
+
+import de.freifunkdresden.viewerbackend.exception.ArchiveException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RunArchiveReaderTest {
+
+    // magic, version, created, dictionary id and checksum, then type and id of the first entry
+    private static final int LENGTH_OFFSET = 4 + 1 + 8 + 2 + 4 + 1 + 4;
+    private static final byte[] BODY = "{\"version\":\"18\",\"data\":{}}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsWhatWasWritten() throws IOException {
+        Path path = write();
+        assertArrayEquals(BODY, RunArchiveReader.read(path).get(EntryType.SYSINFO, 7));
+    }
+
+    @Test
+    void rejectsImpossibleLength() throws IOException {
+        Path path = write();
+        byte[] content = Files.readAllBytes(path);
+        ByteBuffer.wrap(content).putInt(LENGTH_OFFSET, Integer.MAX_VALUE - 8);
+        Files.write(path, content);
+        assertThrows(ArchiveException.class, () -> RunArchiveReader.read(path));
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path path = write();
+        byte[] content = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(content, content.length - 10));
+        assertThrows(ArchiveException.class, () -> RunArchiveReader.read(path));
+    }
+
+    @NotNull
+    private Path write() throws IOException {
+        try (RunArchive archive = RunArchive.create(directory, "test")) {
+            archive.add(EntryType.SYSINFO, 7, BODY);
+            return archive.getPath();
+        }
+    }
+}
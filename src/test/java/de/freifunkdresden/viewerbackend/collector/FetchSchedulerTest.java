@@ -0,0 +1,51 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import de.freifunkdresden.viewerbackend.Node;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FetchSchedulerTest {
+
+    @Test
+    void keepsNodesOnlineLastRunFirst() {
+        LatencyHistory history = new LatencyHistory(Paths.get("latency.json"));
+        // tunnel a carries nodes 1 to 5 of which only 1 was online, tunnel b nodes 6 to 8, all online
+        for (int id = 1; id <= 8; id++) {
+            history.recordRun(id, id * 100, id == 1 || id >= 6);
+            history.recordUpstream(id, id <= 5 ? "a" : "b");
+        }
+        List<Integer> order = new FetchScheduler(history)
+                .order(IntStream.rangeClosed(1, 8).mapToObj(Node::new).toList())
+                .stream().map(Node::getId).toList();
+        assertEquals(List.of(8, 1, 7, 6, 5, 4, 3, 2), order);
+    }
+}
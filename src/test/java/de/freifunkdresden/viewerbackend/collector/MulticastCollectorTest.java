@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.simulator.SysInfoGenerator;
+import de.freifunkdresden.viewerbackend.simulator.SysInfoResponder;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MulticastCollectorTest {
+
+    private static final int[] VERSIONS = {10, 14, 18};
+    private static final int FIRST_NODE = 1;
+    private static final int LAST_NODE = 20;
+    private static final String BOGUS_INTERFACE = "bogus0";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void collectsRepliesOfAllNodes() throws IOException {
+        SysInfoGenerator generator = new SysInfoGenerator(FIRST_NODE, LAST_NODE);
+        Map<Integer, byte[]> replies = query(generator, getNodes(FIRST_NODE, LAST_NODE));
+        assertEquals(getIds(FIRST_NODE, LAST_NODE), replies.keySet());
+        replies.forEach((id, body) -> {
+            JsonObject sysInfo = JsonParser.parseString(new String(body, StandardCharsets.UTF_8)).getAsJsonObject();
+            int version = VERSIONS[id % VERSIONS.length];
+            assertEquals(String.valueOf(version), sysInfo.get("version").getAsString());
+            assertEquals(generator.generate(id, version).get("data"), sysInfo.get("data"));
+        });
+    }
+
+    @Test
+    void ignoresRepliesOfUnexpectedNodes() throws IOException {
+        SysInfoGenerator generator = new SysInfoGenerator(FIRST_NODE, LAST_NODE);
+        Map<Integer, byte[]> replies = query(generator, getNodes(5, 10));
+        assertEquals(getIds(5, 10), replies.keySet());
+    }
+
+    @Test
+    void fallsBackToHttpForUnknownInterface() throws IOException {
+        Path ini = directory.resolve("collector.ini");
+        Files.writeString(ini, String.join("\n", "multicast=true", "multicast_interface=" + BOGUS_INTERFACE));
+        Config config = new Config();
+        config.loadValues(ini);
+        assertNull(MulticastCollector.create(config, 1 << 20));
+    }
+
+    @Test
+    void skipsQueryWhenInterfaceIsGone() {
+        MulticastCollector collector = new MulticastCollector(InetAddress.getLoopbackAddress(),
+                MulticastCollector.DEFAULT_PORT, BOGUS_INTERFACE, 1, 100, 1 << 20);
+        assertTrue(collector.query(getNodes(FIRST_NODE, LAST_NODE)).isEmpty());
+    }
+
+    @NotNull
+    private Map<Integer, byte[]> query(@NotNull SysInfoGenerator generator, @NotNull List<Node> nodes)
+            throws IOException {
+        int port;
+        try (DatagramSocket probe = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            port = probe.getLocalPort();
+        }
+        Path ini = directory.resolve("simulator.ini");
+        Files.writeString(ini, String.join("\n", "sim_multicast_group=127.0.0.1", "sim_multicast_port=" + port,
+                "sim_multicast_rate=1", "sim_multicast_loss=0", "sim_multicast_delay=100"));
+        Config config = new Config();
+        config.loadValues(ini);
+        try (SysInfoResponder responder = new SysInfoResponder(config, generator, VERSIONS, FIRST_NODE, LAST_NODE,
+                LoopbackNode::new)) {
+            Thread thread = new Thread(responder, "responder");
+            thread.setDaemon(true);
+            thread.start();
+            MulticastCollector collector = new MulticastCollector(InetAddress.getLoopbackAddress(), port, null, 1,
+                    3000, 1 << 20);
+            Map<Integer, byte[]> replies = collector.query(nodes);
+            assertEquals(0, collector.getInvalid());
+            return replies;
+        }
+    }
+
+    @NotNull
+    private static List<Node> getNodes(int first, int last) {
+        return IntStream.rangeClosed(first, last).<Node>mapToObj(LoopbackNode::new).toList();
+    }
+
+    @NotNull
+    private static Set<Integer> getIds(int first, int last) {
+        return IntStream.rangeClosed(first, last).boxed().collect(Collectors.toSet());
+    }
+
+    // answers from 127.200.x.y instead of the mesh address, loopback accepts the whole 127.0.0.0/8 without a route
+    private static final class LoopbackNode extends Node {
+
+        private LoopbackNode(int id) {
+            super(id);
+        }
+
+        @Override
+        public InetAddress getIpAddress() throws UnknownHostException {
+            byte[] address = super.getIpAddress().getAddress();
+            address[0] = 127;
+            return InetAddress.getByAddress(address);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import de.freifunkdresden.viewerbackend.Cache;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.archive.RunArchive;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+// One shard of ShardingTest in a process of its own. Usage: ShardProcess <config> <cache path> <index>
+public final class ShardProcess {
+
+    private ShardProcess() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Config config = new Config();
+        config.loadValues(Paths.get(args[0]));
+        Cache cache = new Cache();
+        cache.initialize(Paths.get(args[1]));
+        Sharding sharding = new Sharding(config, cache, Integer.parseInt(args[2]));
+        List<Node> partition = sharding.filter(ShardingTest.getNodes());
+        RunArchive snapshot = sharding.createSnapshot();
+        boolean published = false;
+        try {
+            ShardingTest.collect(partition, snapshot);
+            sharding.publishSnapshot(snapshot, partition);
+            published = true;
+        } finally {
+            if (!published) {
+                snapshot.discard();
+            }
+        }
+    }
+}
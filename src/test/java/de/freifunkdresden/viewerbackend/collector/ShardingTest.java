@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.collector;
+
+import de.freifunkdresden.viewerbackend.Cache;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.archive.EntryType;
+import de.freifunkdresden.viewerbackend.archive.RunArchive;
+import de.freifunkdresden.viewerbackend.archive.RunArchiveReader;
+import de.freifunkdresden.viewerbackend.simulator.SysInfoGenerator;
+import de.freifunkdresden.viewerbackend.thread.NodeSysInfoThread;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs shard 0 in the test and the other shards as separate processes on a shared cache directory, like
+// several collectors started with --shard on one host
+class ShardingTest {
+
+    private static final int SHARDS = 3;
+    private static final int[] VERSIONS = {10, 14, 18};
+    private static final long LAST_SEEN = 1_700_000_000_000L;
+    private static final SysInfoGenerator GENERATOR = new SysInfoGenerator(1, 40000);
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"modulo", "range"})
+    void mergesSnapshotsOfShardProcesses(@NotNull String strategy) throws IOException, InterruptedException {
+        Path ini = directory.resolve("collector.ini");
+        Files.writeString(ini, String.join("\n", "shard_count=" + SHARDS, "shard_strategy=" + strategy,
+                "shard_wait=60", "shard_max_age=300", "collector_probe=false"));
+        Config config = new Config();
+        config.loadValues(ini);
+        Path cachePath = directory.resolve("cache");
+        Cache cache = new Cache();
+        cache.initialize(cachePath);
+        Cache stateCache = new Cache();
+        stateCache.initialize(cache.resolveCacheFile("shard-0"));
+        Sharding sharding = new Sharding(config, cache, 0);
+        long start = System.currentTimeMillis();
+        List<Process> processes = new ArrayList<>();
+        for (int index = 1; index < SHARDS; index++) {
+            processes.add(startShard(ini, cachePath, index));
+        }
+        List<Node> nodes = getNodes();
+        List<Node> partition = sharding.filter(nodes);
+        collect(partition, null);
+        List<RunArchiveReader> snapshots = sharding.awaitSnapshots(start);
+        for (Process process : processes) {
+            assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+            assertEquals(0, process.exitValue(), () -> getLog(process));
+        }
+        assertEquals(SHARDS - 1, snapshots.size());
+
+        Set<Integer> covered = partition.stream().map(Node::getId).collect(Collectors.toSet());
+        List<Set<Integer>> shards = new ArrayList<>(List.of(Set.copyOf(covered)));
+        NodeCollector collector = new NodeCollector(config, cache, stateCache);
+        int merged = 0;
+        for (RunArchiveReader snapshot : snapshots) {
+            Set<Integer> shard = snapshot.getAll(EntryType.NODE_STATE).keySet();
+            shard.forEach(id -> assertTrue(covered.add(id), () -> String.format("Node %d is in two shards", id)));
+            shards.add(shard);
+            merged += collector.merge(nodes, snapshot);
+        }
+        assertEquals(nodes.stream().map(Node::getId).collect(Collectors.toSet()), covered);
+        assertEquals(nodes.size() - partition.size(), merged);
+        for (Node node : nodes) {
+            assertTrue(node.isOnline(), () -> String.format("Node %d is offline", node.getId()));
+            assertEquals(getLastSeen(node.getId()), node.getSysInfoLastSeen());
+        }
+        if (strategy.equals("range")) {
+            // the ids are skewed, the ranges split the observed ids evenly nevertheless
+            shards.forEach(shard -> assertTrue(Math.abs(shard.size() - nodes.size() / SHARDS) <= 1));
+            sharding.saveBounds(nodes);
+            Set<Set<Integer>> reloaded = new HashSet<>();
+            for (int index = 0; index < SHARDS; index++) {
+                reloaded.add(new Sharding(config, cache, index).filter(nodes).stream().map(Node::getId)
+                        .collect(Collectors.toSet()));
+            }
+            assertEquals(Set.copyOf(shards), reloaded);
+        }
+    }
+
+    @NotNull
+    static List<Node> getNodes() {
+        return Stream.of(IntStream.rangeClosed(1, 150), IntStream.rangeClosed(300, 329),
+                        IntStream.rangeClosed(2000, 2009), IntStream.of(40000))
+                .flatMapToInt(ids -> ids)
+                .mapToObj(Node::new)
+                .toList();
+    }
+
+    // stands in for the http collection: the generated sysinfo is parsed like a response and goes into the snapshot
+    static void collect(@NotNull List<Node> nodes, @Nullable RunArchive snapshot) throws IOException {
+        Path latency = Files.createTempFile("latency", ".json");
+        try {
+            FetchContext context = new FetchContext(new LatencyHistory(latency), new FetchMetrics(), false,
+                    Long.MAX_VALUE, 1 << 20, NodeSysInfoThread.HTTP_PORT);
+            for (Node node : nodes) {
+                byte[] body = GENERATOR.generate(node.getId(), VERSIONS[node.getId() % VERSIONS.length]).toString()
+                        .getBytes(StandardCharsets.UTF_8);
+                new NodeSysInfoThread(node, context, 1).replay(body);
+                node.setSysInfoLastSeen(getLastSeen(node.getId()));
+                if (snapshot != null) {
+                    snapshot.add(EntryType.SYSINFO, node.getId(), body);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(latency);
+        }
+    }
+
+    private static long getLastSeen(int nodeId) {
+        return LAST_SEEN + nodeId;
+    }
+
+    @NotNull
+    private Process startShard(@NotNull Path ini, @NotNull Path cachePath, int index) throws IOException {
+        Path workDirectory = Files.createDirectories(directory.resolve(String.format("shard-%d", index)));
+        return new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), ShardProcess.class.getName(),
+                ini.toAbsolutePath().toString(), cachePath.toAbsolutePath().toString(), String.valueOf(index))
+                .directory(workDirectory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDirectory.resolve("output.log").toFile())
+                .start();
+    }
+
+    @NotNull
+    private String getLog(@NotNull Process process) {
+        try (Stream<Path> logs = Files.walk(directory)) {
+            StringBuilder output = new StringBuilder();
+            for (Path log : logs.filter(p -> p.endsWith("output.log")).toList()) {
+                output.append(Files.readString(log));
+            }
+            return output.toString();
+        } catch (IOException e) {
+            return "Process " + process.pid() + " failed";
+        }
+    }
+}
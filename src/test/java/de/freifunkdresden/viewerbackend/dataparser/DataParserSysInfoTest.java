@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.dataparser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import de.freifunkdresden.viewerbackend.simulator.SysInfoGenerator;
+import de.freifunkdresden.viewerbackend.thread.NodeSysInfoThread;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataParserSysInfoTest {
+
+    @Test
+    void dropsLinksToTargetsWithoutMeshAddress() {
+        JsonObject sysInfo = new SysInfoGenerator(1, 100).generate(7, 10);
+        JsonArray routeLinks = sysInfo.getAsJsonObject("data").getAsJsonObject("bmxd")
+                .getAsJsonObject("routing_tables").getAsJsonObject("route").getAsJsonArray("link");
+        int meshLinks = routeLinks.size();
+        JsonObject link = new JsonObject();
+        link.addProperty("target", "fe80::1");
+        link.addProperty("interface", "wlan0");
+        routeLinks.add(link);
+        DataParserSysInfo parser = NodeSysInfoThread.getDataParser(sysInfo);
+        assertNotNull(parser);
+        NodeSnapshot snapshot = parser.toSnapshot();
+        assertEquals(meshLinks, snapshot.links().size());
+        assertTrue(snapshot.links().stream().allMatch(l -> l.target() >= 0));
+    }
+}
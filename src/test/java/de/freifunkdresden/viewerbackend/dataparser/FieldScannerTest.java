@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.dataparser;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FieldScannerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // exactly between two floats, rounded to the even one
+            "16777217", "16777219", "-16777217", "33554434", "8388608.5", "8388609.5", "4194304.25",
+            "4194304.75", "16777217.00",
+            // the nearest double is a midpoint while the decimal is not, casting that double rounds wrong
+            "8.46965742111206", "6.15781044960022", "5.69427752494812", "58.2995548248291", "0.02481993380934",
+            // next to a midpoint
+            "16777217.0000001", "16777216.9999999", "8388608.50000001", "8388609.49999999",
+            "1.000000059604644775390625", "1.000000059604644775390624", "1.000000059604644775390626",
+    })
+    void roundsMidpointsLikeParseFloat(@NotNull String value) {
+        assertSameFloat(value);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0.000000000000000000000000000000000000011754943508222875",
+            "0.000000000000000000000000000000000000011754942106924411",
+            "0.000000000000000000000000000000000000001",
+            "-0.000000000000000000000000000000000000001",
+            "0.0000000000000000000000000000000000000000000014012984643",
+            "0.0000000000000000000000000000000000000000000007006492321624085",
+            "0.0000000000000000000000000000000000000000000007006492321624086",
+            "0.00000000000000000000000000000000000000000000000001",
+    })
+    void convertsSubnormalsLikeParseFloat(@NotNull String value) {
+        assertSameFloat(value);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "0.000", "-0", "-0.0", "+0.00", "1", "+1.5", "-2.25", ".5", "5.", "0.1", "0.2",
+            "0.3", "123456789012345", "1234567890123456", "99999999999999999999", "61.30", "4312.77",
+            "15778463.42", "16777217.35", "340282346638528859811704183484516925440", "1e3"})
+    void convertsLikeParseFloat(@NotNull String value) {
+        assertSameFloat(value);
+    }
+
+    @Test
+    void convertsRandomDecimalsLikeParseFloat() {
+        Random random = new Random(21);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            value.setLength(0);
+            if (random.nextInt(4) == 0) {
+                value.append('-');
+            }
+            int digits = 1 + random.nextInt(17);
+            int point = random.nextInt(digits + 1);
+            for (int d = 0; d < digits; d++) {
+                if (d == point) {
+                    value.append('.');
+                }
+                value.append((char) ('0' + random.nextInt(10)));
+            }
+            assertSameFloat(value.toString());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", ".", "1.2.3", "1,5", "abc"})
+    void rejectsWhatParseFloatRejects(@NotNull String value) {
+        assertThrows(NumberFormatException.class, () -> Float.parseFloat(value));
+        assertThrows(NumberFormatException.class, () -> new FieldScanner(value).toFloat());
+    }
+
+    private static void assertSameFloat(@NotNull String value) {
+        assertEquals(Float.floatToRawIntBits(Float.parseFloat(value)),
+                Float.floatToRawIntBits(new FieldScanner(value).toFloat()), value);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.simulator;
+
+import de.freifunkdresden.viewerbackend.Cache;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.DataGen;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.archive.RunArchive;
+import de.freifunkdresden.viewerbackend.archive.RunArchiveReader;
+import de.freifunkdresden.viewerbackend.collector.NodeCollector;
+import de.freifunkdresden.viewerbackend.collector.Sharding;
+import de.freifunkdresden.viewerbackend.dataparser.DedupPool;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Runs the node collector against a MeshSimulator and reports throughput per run.
+// The collector_* keys are read from the same ini file as the simulator settings.
+// With shard_count > 1, start one process per shard with `--shard <index>`, shard 0 merges the others.
+public class CollectorBenchmark {
+
+    private static final Logger LOGGER = LogManager.getLogger(CollectorBenchmark.class);
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<String> arguments = Arrays.asList(args);
+        int shardArg = arguments.indexOf("--shard");
+        int shard = shardArg >= 0 ? Integer.parseInt(args[shardArg + 1]) : 0;
+        Config config = new Config();
+        config.loadValues(Paths.get(args.length > 0 && shardArg != 0 ? args[0] : "simulator.ini"));
+        Cache cache = new Cache();
+        cache.initialize(Paths.get(config.getValue("cache_path", "cache-benchmark")));
+        int firstNode = config.getIntValue("sim_first_node", 1);
+        int lastNode = config.getIntValue("sim_last_node", 2000);
+        int runs = Math.max(1, config.getIntValue("bench_runs", 3));
+        Sharding sharding = new Sharding(config, cache, shard);
+        Cache stateCache = cache;
+        if (sharding.isSharded()) {
+            stateCache = new Cache();
+            stateCache.initialize(cache.resolveCacheFile(String.format("shard-%d", shard)));
+        }
+        NodeCollector collector = new NodeCollector(config, cache, stateCache);
+        for (int run = 1; run <= runs; run++) {
+            List<Node> nodes = new ArrayList<>();
+            for (int id = firstNode; id <= lastNode; id++) {
+                nodes.add(new Node(id));
+            }
+            if (!sharding.isCoordinator()) {
+                collectShard(collector, sharding, run, nodes);
+                continue;
+            }
+            RunArchive archive = config.getBooleanValue("archive", false)
+                    ? RunArchive.create(cache.resolveCacheFile("archive"), String.format("benchmark-%d", run))
+                    : null;
+            collector.setArchive(archive);
+            DataGen.getDedupPool().clear();
+            long start = System.currentTimeMillis();
+            collector.collect(sharding.filter(nodes));
+            if (sharding.isSharded()) {
+                for (RunArchiveReader snapshot : sharding.awaitSnapshots(start)) {
+                    LOGGER.log(Level.INFO, "Merged {} nodes from {}", collector.merge(nodes, snapshot),
+                            snapshot.getPath());
+                }
+                sharding.saveBounds(nodes);
+            }
+            long duration = Math.max(1, System.currentTimeMillis() - start);
+            long online = nodes.stream().filter(Node::isOnline).count();
+            LOGGER.log(Level.INFO, String.format("Run %d: %d/%d nodes online, %d skipped, %d ms (%.1f nodes/s)",
+                    run, online, nodes.size(), collector.getSkipped(), duration, nodes.size() * 1000.0 / duration));
+            DedupPool pool = DataGen.getDedupPool();
+            LOGGER.log(Level.INFO, "Dedup pool: {} entries, {} bytes saved", pool.size(), pool.getSavedBytes());
+            if (archive != null) {
+                archive.close();
+                replay(collector, archive.getPath(), firstNode, lastNode);
+            }
+        }
+    }
+
+    private static void collectShard(@NotNull NodeCollector collector, @NotNull Sharding sharding, int run,
+                                     @NotNull List<Node> nodes) throws IOException {
+        List<Node> partition = sharding.filter(nodes);
+        RunArchive snapshot = sharding.createSnapshot();
+        collector.setArchive(snapshot);
+        long start = System.currentTimeMillis();
+        boolean published = false;
+        try {
+            collector.collect(partition);
+            sharding.publishSnapshot(snapshot, partition);
+            published = true;
+        } finally {
+            if (!published) {
+                snapshot.discard();
+            }
+        }
+        long duration = Math.max(1, System.currentTimeMillis() - start);
+        LOGGER.log(Level.INFO, String.format("Shard %d run %d: %d/%d nodes online, %d ms", sharding.getIndex(), run,
+                partition.stream().filter(Node::isOnline).count(), partition.size(), duration));
+    }
+
+    private static void replay(@NotNull NodeCollector collector, @NotNull Path path, int firstNode, int lastNode) {
+        List<Node> nodes = new ArrayList<>();
+        for (int id = firstNode; id <= lastNode; id++) {
+            nodes.add(new Node(id));
+        }
+        long start = System.currentTimeMillis();
+        collector.replay(nodes, RunArchiveReader.read(path));
+        long duration = Math.max(1, System.currentTimeMillis() - start);
+        LOGGER.log(Level.INFO, String.format("Replay: %d/%d nodes online, %d ms",
+                nodes.stream().filter(Node::isOnline).count(), nodes.size(), duration));
+    }
+}
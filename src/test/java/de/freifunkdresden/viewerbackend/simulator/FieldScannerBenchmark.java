@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.simulator;
+
+import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfo;
+import de.freifunkdresden.viewerbackend.dataparser.FieldScanner;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compares the split based parsing of uptime, meminfo, cpu load and airtime with FieldScanner, one operation is a
+// pass over all strings of the corpus. Run from the project directory, add -prof gc for the allocations:
+// mvn test-compile exec:exec -Dexec.executable=java -Dexec.args="-cp %classpath org.openjdk.jmh.Main FieldScanner"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldScannerBenchmark {
+
+    private static final long FAILED = Long.MIN_VALUE;
+
+    @Param("example_sysinfo_fields.txt")
+    public String corpus;
+
+    private List<Sample> samples;
+
+    private record Sample(String version, String field, String value) {
+    }
+
+    @Setup
+    public void load() throws IOException {
+        samples = Files.readAllLines(Paths.get(corpus), StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank() && !line.startsWith("#"))
+                .map(line -> line.split("\t", 3))
+                .map(s -> new Sample(s[0], s[1], s.length > 2 ? s[2] : ""))
+                .toList();
+        // both ways have to agree, otherwise the comparison is meaningless
+        for (Sample sample : samples) {
+            long split = parse(sample, true);
+            long scanned = parse(sample, false);
+            if (split != scanned) {
+                throw new IllegalStateException(String.format("v%s %s `%s`: %d != %d", sample.version(),
+                        sample.field(), sample.value(), split, scanned));
+            }
+        }
+    }
+
+    @Benchmark
+    public void split(@NotNull Blackhole blackhole) {
+        for (Sample sample : samples) {
+            blackhole.consume(parse(sample, true));
+        }
+    }
+
+    @Benchmark
+    public void scanner(@NotNull Blackhole blackhole) {
+        for (Sample sample : samples) {
+            blackhole.consume(parse(sample, false));
+        }
+    }
+
+    private static long parse(@NotNull Sample sample, boolean split) {
+        String value = sample.value();
+        try {
+            return switch (sample.field()) {
+                case "uptime" -> Float.floatToRawIntBits(split ? (Integer.parseInt(sample.version()) >= 10
+                        ? Float.parseFloat(value.split("\\s+")[0]) : splitUptime(value))
+                        : DataParserSysInfo.parseUptime(value));
+                case "meminfo_MemTotal", "meminfo_MemFree" -> split ? Integer.parseInt(value.split(" ")[0])
+                        : new FieldScanner(value).field(0, ' ').toInt();
+                case "cpu_load" -> Float.floatToRawIntBits(split ? Float.parseFloat(value.split(" ")[1])
+                        : new FieldScanner(value).field(1, ' ').toFloat());
+                case "airtime" -> split ? splitAirtime(value) : scanAirtime(value);
+                default -> throw new IllegalArgumentException(sample.field());
+            };
+        } catch (RuntimeException e) {
+            return FAILED;
+        }
+    }
+
+    private static float splitUptime(@NotNull String jsonUptime) {
+        String[] uptime = jsonUptime.split("\\s+");
+        if (jsonUptime.contains(":")) {
+            String array3 = uptime[3].replace(",", "");
+            if (array3.contains(":")) {
+                return splitMinutes(array3) * 60f;
+            } else {
+                short days = Short.parseShort(array3);
+                String minutes = uptime[5].replace(",", "");
+                int min = minutes.isEmpty() ? splitMinutes(uptime[6].replace(",", "")) : splitMinutes(minutes);
+                return min * 60f + days * 86400f;
+            }
+        } else {
+            return Float.parseFloat(uptime[0]);
+        }
+    }
+
+    private static int splitMinutes(@NotNull String time) {
+        if (time.contains(":")) {
+            return Integer.parseInt(time.split(":")[0]) * 60 + Integer.parseInt(time.split(":")[1]);
+        } else {
+            return Integer.parseInt(time);
+        }
+    }
+
+    private static long splitAirtime(@NotNull String airtime) {
+        String[] split = airtime.split(",");
+        if (split.length != 4) {
+            return FAILED;
+        }
+        return hash(Long.parseLong(split[0]), Long.parseLong(split[1]), Long.parseLong(split[2]),
+                Long.parseLong(split[3]));
+    }
+
+    private static long scanAirtime(@NotNull String airtime) {
+        FieldScanner scanner = new FieldScanner(airtime);
+        if (scanner.count(',') != 4) {
+            return FAILED;
+        }
+        return hash(scanner.field(0, ',').toLong(), scanner.field(1, ',').toLong(), scanner.field(2, ',').toLong(),
+                scanner.field(3, ',').toLong());
+    }
+
+    private static long hash(long active, long busy, long receive, long transmit) {
+        return ((active * 31 + busy) * 31 + receive) * 31 + transmit;
+    }
+}
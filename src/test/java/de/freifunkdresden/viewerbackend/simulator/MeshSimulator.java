@@ -0,0 +1,211 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.simulator;
+
+import com.google.gson.JsonObject;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.collector.CollectorEngine;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serves synthetic sysinfo-json.cgi responses for a range of virtual nodes.
+// Each node is addressed by its mesh IP, so the whole 10.200.0.0/16 range has to be
+// routed to this host, e.g. with `ip route add local 10.200.0.0/16 dev lo`.
+public class MeshSimulator {
+
+    private static final Logger LOGGER = LogManager.getLogger(MeshSimulator.class);
+    private static final String HTML = "<!DOCTYPE html><html><head><title>Error</title></head>"
+            + "<body><h1>500 Internal Server Error</h1></body></html>";
+    private static final String HTML_MARKER = "@html@";
+
+    private final SysInfoGenerator generator;
+    private final int port;
+    private final int firstNode;
+    private final int lastNode;
+    private final int[] versions;
+    private final double latencyMedian;
+    private final double latencySigma;
+    private final double refuseRate;
+    private final double hangRate;
+    private final double truncateRate;
+    private final double htmlRate;
+    private final int hangTime;
+    private final boolean gzip;
+    private final Config config;
+
+    public MeshSimulator(@NotNull Config config) {
+        this.port = config.getIntValue("sim_port", 80);
+        this.firstNode = config.getIntValue("sim_first_node", 1);
+        this.lastNode = config.getIntValue("sim_last_node", 2000);
+        this.versions = Arrays.stream(config.getValue("sim_versions", "10,11,13,14,15,16,17,18").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        this.latencyMedian = config.getIntValue("sim_latency_median", 150);
+        this.latencySigma = Double.parseDouble(config.getValue("sim_latency_sigma", "0.8"));
+        this.refuseRate = Double.parseDouble(config.getValue("sim_refuse_rate", "0.02"));
+        this.hangRate = Double.parseDouble(config.getValue("sim_hang_rate", "0.02"));
+        this.truncateRate = Double.parseDouble(config.getValue("sim_truncate_rate", "0.01"));
+        this.htmlRate = Double.parseDouble(config.getValue("sim_html_rate", "0.01"));
+        this.hangTime = config.getIntValue("sim_hang_time", 60000);
+        this.gzip = config.getBooleanValue("sim_gzip", true);
+        this.generator = new SysInfoGenerator(firstNode, lastNode);
+        this.config = config;
+    }
+
+    public static void main(String[] args) {
+        Config config = new Config();
+        config.loadValues(Paths.get(args.length > 0 ? args[0] : "simulator.ini"));
+        new MeshSimulator(config).run();
+    }
+
+    public void run() {
+        if (config.getBooleanValue("sim_multicast", false)) {
+            try {
+                Thread responder = new Thread(new SysInfoResponder(config, generator, versions, firstNode, lastNode),
+                        "responder");
+                responder.setDaemon(true);
+                responder.start();
+            } catch (IOException ex) {
+                LOGGER.log(Level.ERROR, "Responder couldn't be started", ex);
+            }
+        }
+        ExecutorService pool = CollectorEngine.THREAD_PER_TASK.createExecutor(4096);
+        try (ServerSocket server = new ServerSocket()) {
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress(port), 4096);
+            LOGGER.log(Level.INFO, "Simulating nodes {}-{} on port {}", firstNode, lastNode, port);
+            while (!server.isClosed()) {
+                Socket socket = server.accept();
+                pool.execute(() -> handle(socket));
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.ERROR, "Simulator stopped", ex);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void handle(@NotNull Socket socket) {
+        try (socket) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int nodeId = getNodeId(socket.getLocalAddress(), random);
+            if (random.nextDouble() < refuseRate) {
+                // a closed port can't be faked on an accepting socket, reset the connection instead
+                socket.setSoLinger(true, 0);
+                return;
+            }
+            boolean acceptGzip = readRequest(socket);
+            if (random.nextDouble() < hangRate) {
+                Thread.sleep(hangTime);
+                return;
+            }
+            Thread.sleep(getLatency(random));
+            String json = getBody(nodeId, random);
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            boolean compress = gzip && acceptGzip;
+            if (compress) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4);
+                try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+                    out.write(body);
+                }
+                body = bytes.toByteArray();
+            }
+            int length = body.length;
+            if (random.nextDouble() < truncateRate) {
+                length = random.nextInt(body.length);
+            }
+            StringBuilder header = new StringBuilder("HTTP/1.1 200 OK\r\n")
+                    .append("Content-Type: application/json\r\n")
+                    .append("Content-Length: ").append(body.length).append("\r\n")
+                    .append("Connection: close\r\n");
+            if (compress) {
+                header.append("Content-Encoding: gzip\r\n");
+            }
+            header.append("\r\n");
+            OutputStream out = socket.getOutputStream();
+            out.write(header.toString().getBytes(StandardCharsets.US_ASCII));
+            out.write(body, 0, length);
+            out.flush();
+        } catch (IOException ex) {
+            LOGGER.log(Level.DEBUG, "Connection failed", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int getNodeId(@NotNull InetAddress address, @NotNull Random random) {
+        byte[] ip = address.getAddress();
+        if (ip.length == 4 && ip[0] == 10 && (ip[1] & 0xff) == 200) {
+            return (ip[2] & 0xff) * 255 + (ip[3] & 0xff) - 1;
+        }
+        return firstNode + random.nextInt(lastNode - firstNode + 1);
+    }
+
+    private static boolean readRequest(@NotNull Socket socket) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        boolean acceptGzip = false;
+        String line;
+        while ((line = reader.readLine()) != null && !line.isEmpty()) {
+            String lower = line.toLowerCase();
+            if (lower.startsWith("accept-encoding:") && lower.contains("gzip")) {
+                acceptGzip = true;
+            }
+        }
+        return acceptGzip;
+    }
+
+    private long getLatency(@NotNull Random random) {
+        return Math.round(latencyMedian * Math.exp(latencySigma * random.nextGaussian()));
+    }
+
+    @NotNull
+    private String getBody(int nodeId, @NotNull Random random) {
+        JsonObject sysInfo = generator.generate(nodeId, versions[nodeId % versions.length]);
+        if (random.nextDouble() < htmlRate) {
+            sysInfo.getAsJsonObject("data").addProperty("vserver", HTML_MARKER);
+            return sysInfo.toString().replace("\"" + HTML_MARKER + "\"", HTML);
+        }
+        return sysInfo.toString();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.simulator;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.DataGen;
+import de.freifunkdresden.viewerbackend.archive.EntryType;
+import de.freifunkdresden.viewerbackend.archive.RunArchiveReader;
+import de.freifunkdresden.viewerbackend.dataparser.DataParserSysInfo;
+import de.freifunkdresden.viewerbackend.dataparser.NodeSnapshot;
+import de.freifunkdresden.viewerbackend.dataparser.SysInfoReader;
+import de.freifunkdresden.viewerbackend.thread.NodeSysInfoThread;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Compares the tree parser with the streaming SysInfoReader on generated sysinfo documents,
+// or on the bodies of a recorded run if `bench_parser_archive` points to a run archive.
+// Set config_path to load the community mapping, otherwise every document logs an invalid community.
+public class ParserBenchmark {
+
+    private static final Logger LOGGER = LogManager.getLogger(ParserBenchmark.class);
+
+    private static long blackhole;
+
+    public static void main(String[] args) {
+        Config config = DataGen.getConfig();
+        config.loadValues(Paths.get(args.length > 0 ? args[0] : "simulator.ini"));
+        if (config.getValue("config_path", null) != null) {
+            config.getCommunityDirectory().loadConfig();
+        }
+        List<byte[]> bodies = getBodies(config);
+        long size = bodies.stream().mapToLong(b -> b.length).sum();
+        LOGGER.log(Level.INFO, "{} documents, {} bytes", bodies.size(), size);
+        Function<byte[], JsonElement> tree = body -> JsonParser.parseReader(new JsonReader(reader(body)));
+        Function<byte[], JsonElement> streaming = body -> SysInfoReader.read(new JsonReader(reader(body)));
+        int mismatches = 0;
+        for (byte[] body : bodies) {
+            if (!Objects.equals(parse(tree, body), parse(streaming, body))) {
+                if (mismatches++ < 5) {
+                    LOGGER.log(Level.WARN, "Parsers disagree on {}", new String(body, StandardCharsets.UTF_8));
+                }
+            }
+        }
+        LOGGER.log(Level.INFO, "{} documents parsed differently", mismatches);
+        int rounds = Math.max(1, config.getIntValue("bench_parser_rounds", 20));
+        int warmup = Math.max(1, rounds / 4);
+        long[] treeResult = new long[2];
+        long[] streamingResult = new long[2];
+        for (int round = 0; round < warmup + rounds; round++) {
+            long[] t = measure(tree, bodies);
+            long[] s = measure(streaming, bodies);
+            if (round >= warmup) {
+                for (int i = 0; i < 2; i++) {
+                    treeResult[i] += t[i];
+                    streamingResult[i] += s[i];
+                }
+            }
+        }
+        long documents = (long) bodies.size() * rounds;
+        report("tree", treeResult, documents, size * rounds);
+        report("streaming", streamingResult, documents, size * rounds);
+        LOGGER.log(Level.DEBUG, "checksum {}", blackhole);
+    }
+
+    @NotNull
+    private static List<byte[]> getBodies(@NotNull Config config) {
+        String archive = config.getValue("bench_parser_archive", null);
+        if (archive != null) {
+            return new ArrayList<>(RunArchiveReader.read(Paths.get(archive)).getAll(EntryType.SYSINFO).values());
+        }
+        int firstNode = config.getIntValue("sim_first_node", 1);
+        int lastNode = config.getIntValue("sim_last_node", 2000);
+        int[] versions = Arrays.stream(config.getValue("sim_versions", "10,11,13,14,15,16,17,18").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        SysInfoGenerator generator = new SysInfoGenerator(firstNode, lastNode);
+        List<byte[]> bodies = new ArrayList<>();
+        for (int id = firstNode; id <= lastNode; id++) {
+            bodies.add(generator.generate(id, versions[id % versions.length]).toString()
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        return bodies;
+    }
+
+    @NotNull
+    private static InputStreamReader reader(@NotNull byte[] body) {
+        return new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    private static NodeSnapshot parse(@NotNull Function<byte[], JsonElement> parser, @NotNull byte[] body) {
+        try {
+            JsonElement json = parser.apply(body);
+            DataParserSysInfo dp = json.isJsonObject() ? NodeSysInfoThread.getDataParser(json.getAsJsonObject()) : null;
+            // lastSeen is the parse time and differs between the two runs
+            return dp != null ? dp.toSnapshot().withLastSeen(0, false) : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @NotNull
+    private static long[] measure(@NotNull Function<byte[], JsonElement> parser, @NotNull List<byte[]> bodies) {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocated = bean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (byte[] body : bodies) {
+            NodeSnapshot snapshot = parse(parser, body);
+            blackhole += snapshot != null ? snapshot.nodeId() : 0;
+        }
+        return new long[]{System.nanoTime() - start, bean.getCurrentThreadAllocatedBytes() - allocated};
+    }
+
+    private static void report(@NotNull String name, @NotNull long[] result, long documents, long bytes) {
+        double seconds = Math.max(1, result[0]) / 1e9;
+        LOGGER.log(Level.INFO, String.format("%s: %.0f documents/s, %.1f MB/s, %d bytes allocated per document",
+                name, documents / seconds, bytes / seconds / 1e6, result[1] / documents));
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.simulator;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+public class SysInfoGenerator {
+
+    private static final String[] MODELS = {"TP-Link TL-WR841N/ND v9", "TP-LINK TL-WR1043N/ND v2",
+            "Ubiquiti UniFi AC Mesh", "GL.iNet GL-AR300M", "Netgear R6220", "AVM FRITZ!Box 4040"};
+    private static final String[] TARGETS = {"ath79/generic", "ramips/mt7621", "ipq40xx/generic", "x86/64"};
+    private static final String[] FIRMWARE = {"6.0.9", "7.1.4", "8.0.12", "8.1.5"};
+    private static final String[] INTERFACES = {"wlan0", "mesh2g-80211s", "tbb_fastd", "tbb_wg", "br-mesh_lan"};
+
+    private final int firstNode;
+    private final int lastNode;
+
+    public SysInfoGenerator(int firstNode, int lastNode) {
+        this.firstNode = firstNode;
+        this.lastNode = lastNode;
+    }
+
+    @NotNull
+    public JsonObject generate(int nodeId, int version) {
+        Random random = new Random(nodeId);
+        JsonObject data = new JsonObject();
+        JsonObject common = new JsonObject();
+        common.addProperty("city", "Dresden");
+        if (version >= 17) {
+            common.addProperty("community", "Dresden");
+        }
+        common.addProperty("node", String.valueOf(nodeId));
+        data.add("common", common);
+        data.add("system", getSystem(random, version));
+        data.add("firmware", getFirmware(random));
+        data.add("bmxd", getBmxd(random, nodeId, version));
+        JsonObject contact = new JsonObject();
+        contact.addProperty("name", "Knoten%20" + nodeId);
+        contact.addProperty("email", "node" + nodeId + "%40example.org");
+        data.add("contact", contact);
+        JsonObject gps = new JsonObject();
+        gps.addProperty("latitude", String.valueOf(51.0 + random.nextDouble() / 10));
+        gps.addProperty("longitude", String.valueOf(13.7 + random.nextDouble() / 10));
+        data.add("gps", gps);
+        data.add("statistic", getStatistic(random, version));
+        JsonObject airtime = new JsonObject();
+        long active = 1_000_000L + random.nextInt(1_000_000);
+        airtime.addProperty("radio2g", String.format("%d,%d,%d,%d", active, active / 2, active / 4, active / 8));
+        data.add("airtime", airtime);
+        JsonObject sysInfo = new JsonObject();
+        sysInfo.addProperty("version", String.valueOf(version));
+        sysInfo.addProperty("timestamp", String.valueOf(System.currentTimeMillis() / 1000));
+        sysInfo.add("data", data);
+        return sysInfo;
+    }
+
+    @NotNull
+    private static JsonObject getSystem(@NotNull Random random, int version) {
+        JsonObject system = new JsonObject();
+        String model = MODELS[random.nextInt(MODELS.length)];
+        system.addProperty("model", model);
+        system.addProperty("uptime", String.format("%d.%02d %d.%02d", random.nextInt(5_000_000),
+                random.nextInt(100), random.nextInt(5_000_000), random.nextInt(100)));
+        system.addProperty("cpucount", String.valueOf(1 + random.nextInt(4)));
+        if (version >= 13) {
+            system.addProperty("node_type", random.nextInt(20) == 0 ? "mobile" : "node");
+        }
+        if (version >= 14) {
+            system.addProperty("model2", model);
+            system.addProperty("autoupdate", random.nextInt(2));
+        }
+        if (version >= 17) {
+            system.addProperty("wifi_2g_channel", String.valueOf(13));
+            system.addProperty("wifi_5g_channel", String.valueOf(44));
+        }
+        return system;
+    }
+
+    @NotNull
+    private static JsonObject getFirmware(@NotNull Random random) {
+        JsonObject firmware = new JsonObject();
+        firmware.addProperty("version", FIRMWARE[random.nextInt(FIRMWARE.length)]);
+        firmware.addProperty("DISTRIB_ID", "OpenWrt");
+        firmware.addProperty("DISTRIB_RELEASE", "21.02.3");
+        firmware.addProperty("DISTRIB_REVISION", "r16554-1d4dea6d4f");
+        firmware.addProperty("DISTRIB_TARGET", TARGETS[random.nextInt(TARGETS.length)]);
+        firmware.addProperty("git-ddmesh-branch", "master");
+        firmware.addProperty("git-ddmesh-rev", "0123456789abcdef0123456789abcdef01234567");
+        return firmware;
+    }
+
+    @NotNull
+    private JsonObject getBmxd(@NotNull Random random, int nodeId, int version) {
+        JsonObject bmxd = new JsonObject();
+        JsonObject gateways = new JsonObject();
+        gateways.addProperty("selected", getIp(firstNode + random.nextInt(Math.min(10, lastNode - firstNode + 1))));
+        JsonArray gatewayList = new JsonArray();
+        for (int i = 0; i < 3; i++) {
+            JsonObject gateway = new JsonObject();
+            gateway.addProperty("ip", getIp(firstNode + i));
+            gatewayList.add(gateway);
+        }
+        gateways.add("gateways", gatewayList);
+        bmxd.add("gateways", gateways);
+        JsonArray routeLinks = new JsonArray();
+        JsonArray links = new JsonArray();
+        int count = 1 + random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            int target = firstNode + random.nextInt(lastNode - firstNode + 1);
+            if (target == nodeId) {
+                continue;
+            }
+            String linkInterface = INTERFACES[random.nextInt(INTERFACES.length)];
+            JsonObject routeLink = new JsonObject();
+            routeLink.addProperty("target", getIp(target));
+            routeLink.addProperty("interface", linkInterface);
+            routeLinks.add(routeLink);
+            JsonObject link = new JsonObject();
+            link.addProperty("node", String.valueOf(target));
+            link.addProperty("tq", String.valueOf(1 + random.nextInt(100)));
+            link.addProperty("interface", linkInterface);
+            if (version >= 17) {
+                link.addProperty("type", linkInterface.startsWith("tbb") ? "backbone" : "wifi");
+            }
+            links.add(link);
+        }
+        JsonObject route = new JsonObject();
+        route.add("link", routeLinks);
+        JsonObject routingTables = new JsonObject();
+        routingTables.add("route", route);
+        routingTables.add("hna", getOriginators(random, 10 + random.nextInt(20)));
+        bmxd.add("routing_tables", routingTables);
+        // real nodes report every originator of the mesh, the backend does not read them
+        bmxd.add("originators", getOriginators(random, 50 + random.nextInt(150)));
+        bmxd.add("links", links);
+        return bmxd;
+    }
+
+    @NotNull
+    private JsonArray getOriginators(@NotNull Random random, int count) {
+        JsonArray originators = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            JsonObject originator = new JsonObject();
+            originator.addProperty("node", getIp(firstNode + random.nextInt(lastNode - firstNode + 1)));
+            originator.addProperty("via", getIp(firstNode + random.nextInt(lastNode - firstNode + 1)));
+            originator.addProperty("interface", INTERFACES[random.nextInt(INTERFACES.length)]);
+            originator.addProperty("brc", String.valueOf(random.nextInt(100)));
+            originators.add(originator);
+        }
+        return originators;
+    }
+
+    @NotNull
+    private static JsonObject getStatistic(@NotNull Random random, int version) {
+        JsonObject statistic = new JsonObject();
+        int memTotal = 60_000 + random.nextInt(200_000);
+        statistic.addProperty("meminfo_MemTotal", memTotal + " kB");
+        statistic.addProperty("meminfo_MemFree", random.nextInt(memTotal) + " kB");
+        statistic.addProperty("cpu_load", String.format("%.2f %.2f %.2f 1/45 1234",
+                random.nextFloat(), random.nextFloat(), random.nextFloat()));
+        int clients = random.nextInt(30);
+        statistic.addProperty("accepted_user_count", String.valueOf(clients));
+        if (version >= 15) {
+            JsonArray c = new JsonArray();
+            c.add(clients);
+            c.add(clients);
+            c.add(clients);
+            statistic.add("clients", c);
+        }
+        if (version >= 16) {
+            JsonObject c2g = new JsonObject();
+            c2g.addProperty("5min", clients / 2);
+            statistic.add("client2g", c2g);
+            JsonObject c5g = new JsonObject();
+            c5g.addProperty("5min", clients - clients / 2);
+            statistic.add("client5g", c5g);
+        }
+        if (version == 17) {
+            JsonObject interfaces = new JsonObject();
+            for (String name : new String[]{"wan", "wifi2", "tbb_fastd", "wifi_mesh2g"}) {
+                interfaces.addProperty(name + "_rx", String.valueOf(random.nextInt(Integer.MAX_VALUE)));
+                interfaces.addProperty(name + "_tx", String.valueOf(random.nextInt(Integer.MAX_VALUE)));
+            }
+            statistic.add("interfaces", interfaces);
+        }
+        if (version >= 18) {
+            JsonObject network = new JsonObject();
+            for (String name : new String[]{"wan", "ap", "vpn", "cable_mesh"}) {
+                network.addProperty(name + "_rx", String.valueOf(random.nextInt(Integer.MAX_VALUE)));
+                network.addProperty(name + "_tx", String.valueOf(random.nextInt(Integer.MAX_VALUE)));
+            }
+            JsonObject details = new JsonObject();
+            for (String name : new String[]{"backbone_mesh_fastd", "backbone_mesh_wg", "wifi_mesh_2g", "wifi_mesh_5g"}) {
+                details.addProperty(name + "_rx", String.valueOf(random.nextInt(Integer.MAX_VALUE)));
+                details.addProperty(name + "_tx", String.valueOf(random.nextInt(Integer.MAX_VALUE)));
+            }
+            network.add("details", details);
+            statistic.add("network", network);
+        }
+        return statistic;
+    }
+
+    @NotNull
+    public static String getIp(int nodeId) {
+        return String.format("10.200.%d.%d", nodeId / 255, (nodeId % 255) + 1);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Niklas Merkelt.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package de.freifunkdresden.viewerbackend.simulator;
+
+import de.freifunkdresden.viewerbackend.Config;
+import de.freifunkdresden.viewerbackend.Node;
+import de.freifunkdresden.viewerbackend.collector.MulticastCollector;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Answers multicast sysinfo queries for the simulated nodes. Every reply is sent from the
+// node's own mesh address, so the same local route as for the http simulator is needed.
+public class SysInfoResponder implements Runnable, Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger(SysInfoResponder.class);
+
+    private final SysInfoGenerator generator;
+    private final int[] versions;
+    private final int firstNode;
+    private final int lastNode;
+    private final IntFunction<Node> nodes;
+    private final InetAddress group;
+    private final int port;
+    private final MulticastSocket socket;
+    private final double answerRate;
+    private final double lossRate;
+    private final int maxDelay;
+
+    public SysInfoResponder(@NotNull Config config, @NotNull SysInfoGenerator generator, @NotNull int[] versions,
+                            int firstNode, int lastNode) throws IOException {
+        this(config, generator, versions, firstNode, lastNode, Node::new);
+    }
+
+    public SysInfoResponder(@NotNull Config config, @NotNull SysInfoGenerator generator, @NotNull int[] versions,
+                            int firstNode, int lastNode, @NotNull IntFunction<Node> nodes) throws IOException {
+        this.generator = generator;
+        this.versions = versions;
+        this.firstNode = firstNode;
+        this.lastNode = lastNode;
+        this.nodes = nodes;
+        this.group = InetAddress.getByName(config.getValue("sim_multicast_group", MulticastCollector.DEFAULT_GROUP));
+        this.port = config.getIntValue("sim_multicast_port", MulticastCollector.DEFAULT_PORT);
+        String name = config.getValue("sim_multicast_interface", "");
+        this.socket = new MulticastSocket(port);
+        if (group.isMulticastAddress()) {
+            try {
+                socket.joinGroup(new InetSocketAddress(group, port),
+                        name.isBlank() ? null : NetworkInterface.getByName(name));
+            } catch (IOException ex) {
+                socket.close();
+                throw ex;
+            }
+        }
+        this.answerRate = Double.parseDouble(config.getValue("sim_multicast_rate", "0.5"));
+        this.lossRate = Double.parseDouble(config.getValue("sim_multicast_loss", "0.01"));
+        this.maxDelay = config.getIntValue("sim_multicast_delay", 500);
+    }
+
+    @Override
+    public void run() {
+        ScheduledExecutorService replies = Executors.newScheduledThreadPool(8);
+        try (socket) {
+            LOGGER.log(Level.INFO, "Answering multicast queries on {}:{}", group.getHostAddress(), port);
+            byte[] buffer = new byte[1500];
+            while (!socket.isClosed()) {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                socket.receive(packet);
+                String query = new String(packet.getData(), packet.getOffset(), packet.getLength(),
+                        StandardCharsets.US_ASCII).trim();
+                if (!query.equals(MulticastCollector.QUERY)) {
+                    continue;
+                }
+                SocketAddress sender = packet.getSocketAddress();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int nodeId = firstNode; nodeId <= lastNode; nodeId++) {
+                    if (supportsMulticast(nodeId) && random.nextDouble() >= lossRate) {
+                        int id = nodeId;
+                        replies.schedule(() -> reply(id, sender), random.nextInt(maxDelay + 1), TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            if (!socket.isClosed()) {
+                LOGGER.log(Level.ERROR, "Responder stopped", ex);
+            }
+        } finally {
+            replies.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+
+    // the same nodes answer every query, like nodes with and without a responder in a mixed network
+    private boolean supportsMulticast(int nodeId) {
+        return ((nodeId * 2654435761L) & 0xffff) < answerRate * 0x10000;
+    }
+
+    private void reply(int nodeId, @NotNull SocketAddress target) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try (DatagramSocket socket = new DatagramSocket(new InetSocketAddress(nodes.apply(nodeId).getIpAddress(), 0))) {
+            byte[] json = generator.generate(nodeId, versions[nodeId % versions.length]).toString()
+                    .getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+            try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+                out.write(json);
+            }
+            byte[] body = bytes.toByteArray();
+            socket.send(new DatagramPacket(body, body.length, target));
+        } catch (IOException ex) {
+            LOGGER.log(Level.DEBUG, "Reply of node {} failed", nodeId, ex);
+        } finally {
+            deflater.end();
+        }
+    }
+}